@@ -0,0 +1,69 @@
+#!/usr/bin/env python3
+"""比較兩次 JMH 的 jmh-result.json，列出每個組合的變化
+
+用法：compare-jmh.py 前一次.json 這一次.json [門檻百分比，預設 10]
+只比較主要分數（primaryMetric），以 benchmark + mode + params 對應兩次的結果；
+thrpt 越大越好，avgt / sample / ss 越小越好。
+變慢超過門檻、且差距大於兩次 scoreError 之和時，輸出 GitHub Actions 的 ::warning::。
+結果表格寫到 $GITHUB_STEP_SUMMARY（有設定時）與標準輸出；
+共用的 CI 機器雜訊大，這裡只警告、不讓工作失敗。
+"""
+import json
+import math
+import os
+import sys
+
+
+def load(path):
+    with open(path, encoding="utf-8") as f:
+        results = {}
+        for r in json.load(f):
+            params = ",".join(f"{k}={v}" for k, v in sorted((r.get("params") or {}).items()))
+            key = (r["benchmark"].removeprefix("bench."), r["mode"], params)
+            metric = r["primaryMetric"]
+            error = float(metric.get("scoreError", "nan"))
+            results[key] = (metric["score"], 0.0 if math.isnan(error) else error, metric["scoreUnit"])
+        return results
+
+
+def main():
+    if len(sys.argv) < 3:
+        sys.exit(__doc__)
+    previous, current = load(sys.argv[1]), load(sys.argv[2])
+    threshold = float(sys.argv[3]) if len(sys.argv) > 3 else 10.0
+
+    lines = ["| 基準 | 模式 | 參數 | 前一次 | 這一次 | 變化 |", "|---|---|---|---:|---:|---:|"]
+    regressions = 0
+    for key in sorted(current):
+        name, mode, params = key
+        score, error, unit = current[key]
+        if key not in previous:
+            lines.append(f"| {name} | {mode} | {params} | - | {score:.3f} {unit} | 新增 |")
+            continue
+        old, old_error, _ = previous[key]
+        if old == 0:
+            continue
+        # 正值表示變差：吞吐量下降或時間增加
+        change = (old - score) / old * 100 if mode == "thrpt" else (score - old) / old * 100
+        mark = ""
+        if change > threshold and abs(score - old) > error + old_error:
+            regressions += 1
+            mark = " ⚠"
+            print(f"::warning::{name} [{mode}] {params} 變慢 {change:.1f}%"
+                  f"（{old:.3f} -> {score:.3f} {unit}）")
+        lines.append(f"| {name} | {mode} | {params} | {old:.3f} | {score:.3f} {unit} | {0.0 - change:+.1f}%{mark} |")
+    for key in sorted(set(previous) - set(current)):
+        lines.append(f"| {key[0]} | {key[1]} | {key[2]} | {previous[key][0]:.3f} | - | 已移除 |")
+    lines.append("")
+    lines.append(f"變慢超過 {threshold:g}% 的組合：{regressions} 個（正值表示變好）")
+
+    table = "\n".join(lines)
+    print(table)
+    summary = os.environ.get("GITHUB_STEP_SUMMARY")
+    if summary:
+        with open(summary, "a", encoding="utf-8") as f:
+            f.write("## JMH 與前一次比較\n\n" + table + "\n")
+
+
+if __name__ == "__main__":
+    main()
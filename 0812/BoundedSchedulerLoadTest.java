@@ -0,0 +1,126 @@
+/*
+ * 有界排程器的過載測試
+ * 說明：提交者以消費速率的 10 倍定速提交，持續數秒，比較無界佇列與四種 OverflowPolicy：
+ *       佇列深度峰值、測試結束時佇列中任務佔用的堆積記憶體（GC 後滿載與清空的差），以及入列 / 丟棄 / 拒絕數與等待時間
+ *       無界佇列的深度與記憶體隨時間線性成長；有界模式的深度固定在容量以內
+ * 用法：java BoundedSchedulerLoadTest [秒數] [消費速率/秒] [容量] [提交者數]
+ */
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.*;
+import java.util.concurrent.locks.LockSupport;
+
+public class BoundedSchedulerLoadTest {
+    private static final int OVERLOAD = 10;
+    private static final int LEVELS = 10;
+
+    public static void main(String[] args) throws InterruptedException {
+        int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int consumeRate = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int capacity = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        int submitters = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+
+        System.out.println("=== 有界排程器過載測試 ===");
+        System.out.println("時間: " + seconds + " 秒, 消費速率: " + consumeRate + "/s, 提交速率: "
+                + consumeRate * OVERLOAD + "/s, 容量: " + capacity + ", 提交者: " + submitters
+                + ", 處理器數: " + Runtime.getRuntime().availableProcessors());
+
+        run("無界", new ConcurrentTaskScheduler(4), seconds, consumeRate, submitters);
+        for (ConcurrentTaskScheduler.OverflowPolicy policy : ConcurrentTaskScheduler.OverflowPolicy.values()) {
+            run(policy.name(), new ConcurrentTaskScheduler(capacity, policy), seconds, consumeRate, submitters);
+        }
+    }
+
+    private static void run(String label, ConcurrentTaskScheduler scheduler, int seconds,
+                            int consumeRate, int submitters) throws InterruptedException {
+        long begin = System.nanoTime() + 10_000_000;
+        long end = begin + seconds * 1_000_000_000L;
+        double submitInterval = 1e9 * submitters / ((double) consumeRate * OVERLOAD);
+        long[] submitted = new long[submitters];
+        Thread[] threads = new Thread[submitters];
+        for (int s = 0; s < submitters; s++) {
+            final int submitter = s;
+            threads[s] = new Thread(() -> {
+                Random random = new Random(submitter);
+                for (long i = 0; ; i++) {
+                    // 每 256 個任務檢查一次進度，超前就休眠
+                    if ((i & 255) == 0) {
+                        long now = System.nanoTime();
+                        if (now >= end) {
+                            break;
+                        }
+                        long ahead = begin + (long) (i * submitInterval) - now;
+                        if (ahead > 0) {
+                            LockSupport.parkNanos(ahead);
+                        }
+                    }
+                    scheduler.addTask("job", random.nextInt(LEVELS));
+                    submitted[submitter]++;
+                }
+            });
+            threads[s].start();
+        }
+
+        // 消費者定速取出，同時取樣佇列深度
+        long executed = 0;
+        int peakDepth = 0;
+        double executeInterval = 1e9 / consumeRate;
+        while (System.nanoTime() < end) {
+            if ((executed & 255) == 0) {
+                peakDepth = Math.max(peakDepth, scheduler.size());
+                long ahead = begin + (long) (executed * executeInterval) - System.nanoTime();
+                if (ahead > 0) {
+                    LockSupport.parkNanos(ahead);
+                }
+            }
+            if (scheduler.executeNextTask() != null) {
+                executed++;
+            } else {
+                Thread.yield();
+            }
+        }
+        peakDepth = Math.max(peakDepth, scheduler.size());
+        SchedulerMetrics.Snapshot s = scheduler.metrics().snapshot();
+        int depth = scheduler.size();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long full = usedAfterGc(memory);
+
+        // 清空佇列，讓 BLOCK 模式中等待的提交者結束
+        boolean alive = true;
+        while (alive) {
+            scheduler.executeNextTask();
+            alive = false;
+            for (Thread t : threads) {
+                alive |= t.isAlive();
+            }
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        while (scheduler.executeNextTask() != null) {
+            // 取出剩餘任務
+        }
+        // 同一個排程器滿載與清空時的差，即佇列中任務佔用的記憶體
+        long retained = full - usedAfterGc(memory);
+        long total = 0;
+        for (long n : submitted) {
+            total += n;
+        }
+
+        System.out.printf("%n[%s]%n", label);
+        System.out.printf("提交 %,d, 入列 %,d, 丟棄 %,d, 拒絕 %,d, 執行 %,d%n",
+                total, s.enqueued, s.dropped, s.rejected, s.dequeued);
+        System.out.printf("佇列深度 峰值 %,d / 結束 %,d, 保留記憶體 %.1f MB%n",
+                peakDepth, depth, retained / 1048576.0);
+        System.out.printf("等待(ms) p50 %.1f, p99 %.1f, max %.1f; 結束時各優先級深度 %s%n",
+                s.waitNanos.percentile(50) / 1e6, s.waitNanos.percentile(99) / 1e6,
+                s.waitNanos.max() / 1e6, s.depthByPriority);
+    }
+
+    private static long usedAfterGc(MemoryMXBean memory) {
+        System.gc();
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,245 @@
+import java.util.NoSuchElementException;
+
+// 桶佇列：優先級為 0 .. levels-1 的小範圍整數時使用，每個優先級一條先進先出串列，
+// 另以兩層位元圖記錄哪些優先級非空：words 的第 p 位表示第 p 層非空，summary 的第 w 位表示 words[w] != 0，
+// 找最高非空層只要兩次 numberOfLeadingZeros，不必比較
+// 串列直接使用 Task.prev / Task.next，queueIndex 記錄所在層級，不另外配置節點
+// 時間複雜度：offer / poll / peek / remove O(1)；
+//            update 把任務依原序號插回新層，從兩端同時找位置，O(到新層較近一端的距離)
+// 最多 64 * 64 = 4096 層
+public class BucketTaskQueue implements TaskQueue {
+    private static final int MAX_LEVELS = 64 * 64;
+
+    private final Task[] heads;
+    private final Task[] tails;
+    private final long[] words;
+    private long summary;
+    private int size;
+
+    public BucketTaskQueue(int levels) {
+        if (levels <= 0 || levels > MAX_LEVELS) {
+            throw new IllegalArgumentException("層數必須介於 1 與 " + MAX_LEVELS + " 之間: " + levels);
+        }
+        heads = new Task[levels];
+        tails = new Task[levels];
+        words = new long[(levels + 63) >>> 6];
+    }
+
+    @Override
+    public void checkPriority(int priority) {
+        if (priority < 0 || priority >= heads.length) {
+            throw new IllegalArgumentException("優先級超出範圍 0.." + (heads.length - 1) + ": " + priority);
+        }
+    }
+
+    // 依序號插入第 p 層：一般提交的序號最大，直接接在尾端；
+    // 調整優先級時同時從尾端往前、從頭端往後找，成本為離較近一端的距離
+    private void link(int p, Task task) {
+        Task before;
+        Task back = tails[p];
+        Task front = heads[p];
+        while (true) {
+            if (back == null || back.sequence < task.sequence) {
+                before = back;
+                break;
+            }
+            if (front.sequence > task.sequence) {
+                before = front.prev;
+                break;
+            }
+            back = back.prev;
+            front = front.next;
+        }
+        Task after = before == null ? heads[p] : before.next;
+        task.prev = before;
+        task.next = after;
+        if (before == null) {
+            heads[p] = task;
+        } else {
+            before.next = task;
+        }
+        if (after == null) {
+            tails[p] = task;
+        } else {
+            after.prev = task;
+        }
+        task.queueIndex = p;
+        words[p >>> 6] |= 1L << p;
+        summary |= 1L << (p >>> 6);
+    }
+
+    private void unlink(Task task) {
+        int p = task.queueIndex;
+        if (task.prev == null) {
+            heads[p] = task.next;
+        } else {
+            task.prev.next = task.next;
+        }
+        if (task.next == null) {
+            tails[p] = task.prev;
+        } else {
+            task.next.prev = task.prev;
+        }
+        task.prev = null;
+        task.next = null;
+        task.queueIndex = -1;
+        if (heads[p] == null) {
+            int w = p >>> 6;
+            words[w] &= ~(1L << p);
+            if (words[w] == 0) {
+                summary &= ~(1L << w);
+            }
+        }
+    }
+
+    // 最高的非空層，全空時回傳 -1
+    private int highestLevel() {
+        if (summary == 0) {
+            return -1;
+        }
+        int w = 63 - Long.numberOfLeadingZeros(summary);
+        return (w << 6) + 63 - Long.numberOfLeadingZeros(words[w]);
+    }
+
+    @Override
+    public void offer(Task task) {
+        checkPriority(task.priority);
+        link(task.priority, task);
+        size++;
+    }
+
+    @Override
+    public Task poll() {
+        int p = highestLevel();
+        if (p < 0) {
+            return null;
+        }
+        Task task = heads[p];
+        unlink(task);
+        size--;
+        return task;
+    }
+
+    @Override
+    public Task peek() {
+        int p = highestLevel();
+        return p < 0 ? null : heads[p];
+    }
+
+    @Override
+    public void update(Task task) {
+        if (!contains(task)) {
+            throw new NoSuchElementException("任務不在佇列中: " + task);
+        }
+        int p = task.priority;
+        if (p < 0 || p >= heads.length) {
+            // 新優先級超出範圍：還原為原層級，任務仍留在原層，優先級與所在層保持一致
+            task.priority = task.queueIndex;
+            throw new IllegalArgumentException("優先級超出範圍 0.." + (heads.length - 1) + ": " + p);
+        }
+        unlink(task);
+        link(p, task);
+    }
+
+    @Override
+    public boolean remove(Task task) {
+        if (!contains(task)) {
+            return false;
+        }
+        unlink(task);
+        size--;
+        return true;
+    }
+
+    // 以相鄰節點（或層首）是否指回自己判斷，O(1)
+    @Override
+    public boolean contains(Task task) {
+        int p = task.queueIndex;
+        if (p < 0 || p >= heads.length) {
+            return false;
+        }
+        return task.prev != null ? task.prev.next == task : heads[p] == task;
+    }
+
+    @Override
+    public int size() { return size; }
+
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    public int levels() { return heads.length; }
+
+    public static void main(String[] args) {
+        BucketTaskQueue queue = new BucketTaskQueue(8);
+        TaskScheduler scheduler = new TaskScheduler(queue);
+        scheduler.setVerbose(true);
+
+        System.out.println("=== 桶佇列任務調度示範 ===");
+        int backup = scheduler.addTask("系統備份", 1);
+        scheduler.addTask("緊急修復", 5);
+        scheduler.addTask("資料清理", 2);
+        int update = scheduler.addTask("系統更新", 4);
+        scheduler.addTask("日常維護", 1);
+        scheduler.addTask("安全掃描", 3);
+        scheduler.changePriority(backup, 6);
+        scheduler.cancel(update);
+        while (scheduler.peekNextTask() != null) {
+            scheduler.executeNextTask();
+        }
+
+        // 與 IndexedTaskHeap 以相同的隨機操作比對取出順序
+        System.out.println("\n與可定位堆隨機比對:");
+        BucketTaskQueue buckets = new BucketTaskQueue(100);
+        IndexedTaskHeap heap = new IndexedTaskHeap(2, TaskScheduler.TASK_ORDER);
+        java.util.Random random = new java.util.Random(7);
+        java.util.List<Task[]> live = new java.util.ArrayList<>();
+        boolean same = true;
+        for (int step = 0; step < 100_000; step++) {
+            int op = random.nextInt(6);
+            if (op >= 3 || live.isEmpty()) {
+                int priority = random.nextInt(100);
+                Task a = new Task(step, "T" + step, priority, step);
+                Task b = new Task(step, "T" + step, priority, step);
+                buckets.offer(a);
+                heap.offer(b);
+                live.add(new Task[]{a, b});
+            } else if (op == 1) {
+                Task[] pair = live.get(random.nextInt(live.size()));
+                int priority = random.nextInt(100);
+                pair[0].priority = priority;
+                pair[1].priority = priority;
+                buckets.update(pair[0]);
+                heap.update(pair[1]);
+            } else if (op == 2) {
+                Task[] pair = live.remove(random.nextInt(live.size()));
+                same &= buckets.remove(pair[0]) && heap.remove(pair[1]);
+            } else {
+                Task a = buckets.poll();
+                Task b = heap.poll();
+                same &= a.id == b.id;
+                live.removeIf(pair -> pair[0] == a);
+            }
+        }
+        while (!heap.isEmpty()) {
+            same &= buckets.poll().id == heap.poll().id;
+        }
+        System.out.println("取出順序一致: " + same + ", 皆已清空: " + (buckets.isEmpty() && heap.isEmpty()));
+
+        // 超出範圍的優先級：丟出例外，任務維持原優先級與原層
+        int id = scheduler.addTask("報表產生", 2);
+        boolean rejected = false;
+        try {
+            scheduler.changePriority(id, 8);
+        } catch (IllegalArgumentException e) {
+            rejected = true;
+        }
+        Task task = queue.peek();
+        System.out.println("超出範圍被拒: " + rejected + ", 優先級仍為 2: " + (task.priority == 2 && task.queueIndex == 2));
+        task.priority = -1;
+        try {
+            queue.update(task);
+        } catch (IllegalArgumentException e) {
+            System.out.println("直接 update 失敗後還原: " + (task.priority == 2 && queue.contains(task)));
+        }
+    }
+}
@@ -0,0 +1,331 @@
+/*
+ * Time Complexity: addTask / executeNextTask / changePriority / cancel O(log n)
+ * 說明：可由多個執行緒同時提交與取出的 TaskScheduler，熱路徑上不輸出主控台訊息，改以 metrics() 輪詢。
+ *       同優先級以每個排程器自己的提交序號決定先後，序號在入列的同一把鎖內遞增：
+ *       若在鎖外以 AtomicLong 取號，取號與入列之間可能被其他執行緒插隊，取出順序就不再等於序號順序；
+ *       在鎖內取號則入列順序即序號順序，且只要 addTask(A) 在 addTask(B) 開始前返回，A 一定先於 B 被取出
+ *       有界模式：佇列達到 capacity 時依 OverflowPolicy 處理新任務，佇列大小（與記憶體）不超過 capacity
+ * 空間複雜度：O(n)，有界模式 O(capacity)
+ */
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ConcurrentTaskScheduler {
+    // 佇列已滿時的處理方式
+    public enum OverflowPolicy {
+        BLOCK,       // addTask 等待直到有空位
+        REJECT,      // 拒絕新任務，addTask 回傳 -1
+        DROP_LOWEST, // 捨棄最後才會執行的任務（最低優先級、同級最晚提交）；新任務本身最低時改為拒絕新任務。O(log n)，需 MinMaxTaskHeap
+        SHED_OLDEST  // 捨棄等待最久的任務（不論優先級），O(1)
+    }
+
+    private final TaskQueue taskQueue;
+    // 依提交順序排列（插入在 lock 內，與序號順序相同），SHED_OLDEST 取第一個即為最舊的任務
+    private final Map<Integer, Task> pendingTasks = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final AtomicInteger nextTaskId = new AtomicInteger(1);
+    private long nextSequence; // 由 lock 保護
+    private final SchedulerMetrics metrics = new SchedulerMetrics();
+
+    public ConcurrentTaskScheduler() {
+        this(2);
+    }
+
+    public ConcurrentTaskScheduler(int arity) {
+        this(new IndexedTaskHeap(arity, TaskScheduler.TASK_ORDER));
+    }
+
+    // 指定底層佇列（例如 BucketTaskQueue），之後只能經由本排程器存取
+    public ConcurrentTaskScheduler(TaskQueue taskQueue) {
+        this(taskQueue, Integer.MAX_VALUE, OverflowPolicy.BLOCK);
+    }
+
+    // 有界模式；DROP_LOWEST 使用 MinMaxTaskHeap，其餘使用 4 叉可定位堆
+    public ConcurrentTaskScheduler(int capacity, OverflowPolicy policy) {
+        this(policy == OverflowPolicy.DROP_LOWEST
+                ? new MinMaxTaskHeap(TaskScheduler.TASK_ORDER)
+                : new IndexedTaskHeap(4, TaskScheduler.TASK_ORDER), capacity, policy);
+    }
+
+    public ConcurrentTaskScheduler(TaskQueue taskQueue, int capacity, OverflowPolicy policy) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("容量必須大於0: " + capacity);
+        }
+        if (policy == OverflowPolicy.DROP_LOWEST && !(taskQueue instanceof MinMaxTaskHeap)) {
+            throw new IllegalArgumentException("DROP_LOWEST 需要 MinMaxTaskHeap");
+        }
+        this.taskQueue = taskQueue;
+        this.capacity = capacity;
+        this.policy = policy;
+    }
+
+    public int addTask(String name, int priority) {
+        return addTask(name, priority, null);
+    }
+
+    // 回傳任務編號，供 changePriority / cancel 使用；佇列已滿而未被接受時回傳 -1
+    // （BLOCK 等待時被中斷也回傳 -1，並保留中斷狀態）
+    public int addTask(String name, int priority, Runnable action) {
+        int id = nextTaskId.getAndIncrement();
+        lock.lock();
+        try {
+            if (taskQueue.size() >= capacity && !makeRoom(priority)) {
+                metrics.onReject();
+                return -1;
+            }
+            Task task = new Task(id, name, priority, nextSequence++, action);
+            taskQueue.offer(task);
+            metrics.onEnqueue(task);
+            pendingTasks.put(id, task);
+        } finally {
+            lock.unlock();
+        }
+        return id;
+    }
+
+    // 佇列已滿時依策略騰出一個位置，回傳新任務是否可以入列
+    private boolean makeRoom(int priority) {
+        switch (policy) {
+            case BLOCK:
+                try {
+                    while (taskQueue.size() >= capacity) {
+                        notFull.await();
+                    }
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            case DROP_LOWEST:
+                // 新任務的序號最大，優先級不高於目前最後一個時，它自己就是最該捨棄的
+                Task lowest = ((MinMaxTaskHeap) taskQueue).peekLast();
+                if (priority <= lowest.priority) {
+                    return false;
+                }
+                drop(lowest);
+                return true;
+            case SHED_OLDEST:
+                drop(pendingTasks.values().iterator().next());
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void drop(Task task) {
+        taskQueue.remove(task);
+        pendingTasks.remove(task.id);
+        metrics.onDrop(task);
+    }
+
+    // 取出下一個任務並在鎖外執行其工作；沒有任務時回傳 null
+    public Task executeNextTask() {
+        Task task;
+        lock.lock();
+        try {
+            task = taskQueue.poll();
+            if (task == null) {
+                return null;
+            }
+            pendingTasks.remove(task.id);
+            if (policy == OverflowPolicy.BLOCK) {
+                notFull.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        metrics.onDequeue(task); // 直方圖與計數皆無鎖，在鎖外記錄
+        if (task.action != null) {
+            task.action.run();
+        }
+        return task;
+    }
+
+    public Task peekNextTask() {
+        lock.lock();
+        try {
+            return taskQueue.peek();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean changePriority(int taskId, int newPriority) {
+        lock.lock();
+        try {
+            Task task = pendingTasks.get(taskId);
+            if (task == null) {
+                return false;
+            }
+            int oldPriority = task.priority;
+            task.priority = newPriority;
+            taskQueue.update(task);
+            metrics.onReprioritize(task, oldPriority);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean cancel(int taskId) {
+        lock.lock();
+        try {
+            Task task = pendingTasks.remove(taskId);
+            if (task == null) {
+                return false;
+            }
+            taskQueue.remove(task);
+            metrics.onCancel(task);
+            if (policy == OverflowPolicy.BLOCK) {
+                notFull.signal();
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public SchedulerMetrics metrics() {
+        return metrics;
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return taskQueue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 先進先出壓力測試：多個提交者定速提交，單一消費者同時取出，檢查
+    // 1. 每個任務恰好執行一次
+    // 2. 同優先級的取出順序序號嚴格遞增
+    // 3. 同一提交者、同優先級的任務依提交順序執行
+    // 4. 即時順序：addTask(B) 在 addTask(A) 開始前已返回、且同優先級時，B 必須先於 A 執行
+    // 用法：java ConcurrentTaskScheduler [提交者數] [每個提交者任務數] [總提交速率/秒，0 表示不限速]
+    public static void main(String[] args) throws InterruptedException {
+        int submitters = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int perSubmitter = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+        long rate = args.length > 2 ? Long.parseLong(args[2]) : 1_000_000;
+        int levels = 5;
+        int total = submitters * perSubmitter;
+
+        System.out.println("=== 並行排程器先進先出壓力測試 ===");
+        System.out.println("提交者: " + submitters + ", 任務數: " + total + ", 目標速率: "
+                + (rate > 0 ? rate + " tasks/s" : "不限") + ", 處理器數: " + Runtime.getRuntime().availableProcessors());
+
+        ConcurrentTaskScheduler scheduler = new ConcurrentTaskScheduler(4);
+        // 依任務編號記錄（編號從 1 開始）
+        long[] submitStart = new long[total + 1];
+        long[] submitEnd = new long[total + 1];
+        int[] owner = new int[total + 1];
+        int[] localIndex = new int[total + 1];
+        int[] priorityOf = new int[total + 1];
+        Task[] executed = new Task[total];
+
+        Thread[] threads = new Thread[submitters];
+        long begin = System.nanoTime() + 10_000_000;
+        double perSubmitterNanos = rate > 0 ? 1e9 * submitters / rate : 0;
+        for (int s = 0; s < submitters; s++) {
+            final int submitter = s;
+            threads[s] = new Thread(() -> {
+                while (System.nanoTime() < begin) {
+                    Thread.onSpinWait();
+                }
+                for (int i = 0; i < perSubmitter; i++) {
+                    // 每 1024 個任務檢查一次進度，超前就休眠
+                    if (rate > 0 && (i & 1023) == 0) {
+                        long ahead = begin + (long) (i * perSubmitterNanos) - System.nanoTime();
+                        if (ahead > 0) {
+                            LockSupport.parkNanos(ahead);
+                        }
+                    }
+                    int priority = (submitter + i) % levels;
+                    long start = System.nanoTime();
+                    int id = scheduler.addTask("job", priority);
+                    long end = System.nanoTime();
+                    submitStart[id] = start;
+                    submitEnd[id] = end;
+                    owner[id] = submitter;
+                    localIndex[id] = i;
+                    priorityOf[id] = priority;
+                }
+            });
+            threads[s].start();
+        }
+
+        // 消費者與提交者同時進行
+        int done = 0;
+        while (done < total) {
+            Task task = scheduler.executeNextTask();
+            if (task == null) {
+                Thread.yield();
+                continue;
+            }
+            executed[done++] = task;
+        }
+        long elapsed = System.nanoTime() - begin;
+        for (Thread t : threads) {
+            t.join();
+        }
+        System.out.printf("實際速率: %,.0f tasks/s%n", total / (elapsed / 1e9));
+        System.out.println("監控數據: " + scheduler.metrics().snapshot());
+
+        // 1. 恰好一次
+        boolean[] seen = new boolean[total + 1];
+        boolean exactlyOnce = true;
+        for (Task t : executed) {
+            exactlyOnce &= !seen[t.id];
+            seen[t.id] = true;
+        }
+
+        // 2. 同優先級序號遞增；3. 同一提交者依提交順序
+        long[] lastSequence = new long[levels];
+        Arrays.fill(lastSequence, -1);
+        int[][] lastLocal = new int[levels][submitters];
+        for (int[] row : lastLocal) {
+            Arrays.fill(row, -1);
+        }
+        boolean sequenceOrdered = true;
+        boolean submitterOrdered = true;
+        for (Task t : executed) {
+            int p = t.priority;
+            sequenceOrdered &= t.sequence > lastSequence[p];
+            lastSequence[p] = t.sequence;
+            int o = owner[t.id];
+            submitterOrdered &= localIndex[t.id] > lastLocal[p][o];
+            lastLocal[p][o] = localIndex[t.id];
+        }
+
+        // 4. 由後往前維護各優先級「之後才執行的任務中最早完成提交的時間」
+        long[] minLaterEnd = new long[levels];
+        Arrays.fill(minLaterEnd, Long.MAX_VALUE);
+        int realTimeViolations = 0;
+        for (int i = total - 1; i >= 0; i--) {
+            int id = executed[i].id;
+            int p = priorityOf[id];
+            if (minLaterEnd[p] < submitStart[id]) {
+                realTimeViolations++;
+            }
+            minLaterEnd[p] = Math.min(minLaterEnd[p], submitEnd[id]);
+        }
+
+        System.out.println("每個任務恰好執行一次: " + (exactlyOnce && done == total));
+        System.out.println("同優先級序號嚴格遞增: " + sequenceOrdered);
+        System.out.println("同一提交者依提交順序: " + submitterOrdered);
+        System.out.println("違反即時先進先出的任務數: " + realTimeViolations);
+        System.out.println("剩餘任務: " + scheduler.size());
+    }
+}
@@ -0,0 +1,124 @@
+import java.util.Arrays;
+import java.util.Comparator;
+
+// d 叉堆（泛型版），作為一般物件佇列的底層儲存；需要定位元素時見 IndexedTaskHeap
+// 比較器最小者在堆頂；arity 為 2 的次方，父/子索引以位移計算
+// 第 i 個節點的子節點為 d*i+1 .. d*i+d，彼此相鄰，樹高 log_d n
+// 時間複雜度：offer O(log_d n)，poll O(d log_d n)，peek O(1)
+public class DaryHeap<E> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] heap;
+    private int size;
+    private final int arity;
+    private final int shift;
+    private final Comparator<? super E> comparator;
+
+    public DaryHeap(int arity, Comparator<? super E> comparator) {
+        this(DEFAULT_CAPACITY, arity, comparator);
+    }
+
+    public DaryHeap(int initialCapacity, int arity, Comparator<? super E> comparator) {
+        if (arity < 2 || Integer.bitCount(arity) != 1) {
+            throw new IllegalArgumentException("arity 必須是 >= 2 的 2 的次方: " + arity);
+        }
+        this.arity = arity;
+        this.shift = Integer.numberOfTrailingZeros(arity);
+        this.comparator = comparator;
+        heap = new Object[Math.max(initialCapacity, 1)];
+    }
+
+    @SuppressWarnings("unchecked")
+    private E at(int i) {
+        return (E) heap[i];
+    }
+
+    private void siftUp(int i, E value) {
+        while (i > 0) {
+            int parent = (i - 1) >>> shift;
+            E p = at(parent);
+            if (comparator.compare(value, p) >= 0) break;
+            heap[i] = p;
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    private void siftDown(int i, E value) {
+        int last = (size - 2) >> shift;
+        while (i <= last) {
+            int child = (i << shift) + 1;
+            int end = Math.min(child + arity, size);
+            E c = at(child);
+            for (int j = child + 1; j < end; j++) {
+                E v = at(j);
+                if (comparator.compare(v, c) < 0) {
+                    child = j;
+                    c = v;
+                }
+            }
+            if (comparator.compare(value, c) <= 0) break;
+            heap[i] = c;
+            i = child;
+        }
+        heap[i] = value;
+    }
+
+    public void offer(E value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length + (heap.length >> 1) + 1);
+        }
+        siftUp(size++, value);
+    }
+
+    public E poll() {
+        if (size == 0) {
+            return null;
+        }
+        E top = at(0);
+        E last = at(--size);
+        heap[size] = null; // 讓 GC 回收
+        if (size > 0) {
+            siftDown(0, last);
+        }
+        return top;
+    }
+
+    public E peek() {
+        if (size == 0) {
+            return null;
+        }
+        return at(0);
+    }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public int size() { return size; }
+
+    public int arity() { return arity; }
+
+    public boolean isValidHeap() {
+        for (int i = 1; i < size; i++) {
+            if (comparator.compare(at((i - 1) >>> shift), at(i)) > 0) return false;
+        }
+        return true;
+    }
+
+    public static void main(String[] args) {
+        DaryHeap<String> heap = new DaryHeap<>(4, Comparator.naturalOrder());
+        String[] words = {"pear", "apple", "fig", "kiwi", "banana", "cherry", "date", "grape", "lemon"};
+        for (String w : words) {
+            heap.offer(w);
+        }
+        System.out.println("4 叉堆頂: " + heap.peek() + ", 大小: " + heap.size()
+                + ", 是否有效: " + heap.isValidHeap());
+        StringBuilder sb = new StringBuilder();
+        while (!heap.isEmpty()) {
+            sb.append(heap.poll()).append(' ');
+        }
+        System.out.println("依序取出: " + sb.toString().trim());
+
+        // 空堆 poll/peek 回傳 null，與 PriorityQueue 一致
+        System.out.println("空堆 poll: " + heap.poll());
+    }
+}
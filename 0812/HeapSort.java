@@ -39,6 +39,132 @@ public class HeapSort {
         arr[j] = temp;
     }
     
+    // 不輸出過程的排序，供大量資料使用
+    public static void sort(int[] arr) {
+        sort(arr, 0, arr.length);
+    }
+
+    // 對 arr[from, to) 原地排序；下沉為迭代式空洞法，每層只寫一次，不遞迴也不交換
+    public static void sort(int[] arr, int from, int to) {
+        int n = to - from;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, from, i, arr[from + i], n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            int last = arr[from + end];
+            arr[from + end] = arr[from];
+            siftDown(arr, from, 0, last, end);
+        }
+    }
+
+    // 以 base 為位移的 Max Heap 下沉：把 value 放進空洞 i 往下的正確位置
+    private static void siftDown(int[] arr, int base, int i, int value, int heapSize) {
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int c = arr[base + child];
+            if (child + 1 < heapSize && arr[base + child + 1] > c) {
+                c = arr[base + ++child];
+            }
+            if (c <= value) break;
+            arr[base + i] = c;
+            i = child;
+        }
+        arr[base + i] = value;
+    }
+
+    // 由下而上（Floyd）堆排序：取出階段的下沉每層只比較兩個子節點，
+    // 空洞先一路沉到葉子，再讓原本的末端元素從葉子往上浮；末端元素多半本來就屬於底層，上浮通常只需一兩次比較
+    // 比較次數約 n log n，教科書版約 2n log n
+    public static void sortBottomUp(int[] arr) {
+        sortBottomUp(arr, 0, arr.length);
+    }
+
+    public static void sortBottomUp(int[] arr, int from, int to) {
+        int n = to - from;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, from, i, arr[from + i], n);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            int last = arr[from + end];
+            arr[from + end] = arr[from];
+            int hole = 0;
+            int half = end >>> 1;
+            while (hole < half) {
+                int child = 2 * hole + 1;
+                if (child + 1 < end && arr[from + child + 1] > arr[from + child]) {
+                    child++;
+                }
+                arr[from + hole] = arr[from + child];
+                hole = child;
+            }
+            while (hole > 0) {
+                int parent = (hole - 1) >>> 1;
+                int p = arr[from + parent];
+                if (p >= last) break;
+                arr[from + hole] = p;
+                hole = parent;
+            }
+            arr[from + hole] = last;
+        }
+    }
+
+    // 以 Comparator 排序物件陣列的教科書版：每層比較兩次（兩個子節點互比，再與下沉的元素比）
+    public static <T> void sort(T[] arr, Comparator<? super T> cmp) {
+        int n = arr.length;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, i, arr[i], n, cmp);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            T last = arr[end];
+            arr[end] = arr[0];
+            siftDown(arr, 0, last, end, cmp);
+        }
+    }
+
+    // 以 Comparator 排序物件陣列的由下而上版，比較次數約為教科書版的一半，比較越昂貴（例如多欄位比較）越划算
+    public static <T> void sortBottomUp(T[] arr, Comparator<? super T> cmp) {
+        int n = arr.length;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(arr, i, arr[i], n, cmp);
+        }
+        for (int end = n - 1; end > 0; end--) {
+            T last = arr[end];
+            arr[end] = arr[0];
+            int hole = 0;
+            int half = end >>> 1;
+            while (hole < half) {
+                int child = 2 * hole + 1;
+                if (child + 1 < end && cmp.compare(arr[child + 1], arr[child]) > 0) {
+                    child++;
+                }
+                arr[hole] = arr[child];
+                hole = child;
+            }
+            while (hole > 0) {
+                int parent = (hole - 1) >>> 1;
+                if (cmp.compare(arr[parent], last) >= 0) break;
+                arr[hole] = arr[parent];
+                hole = parent;
+            }
+            arr[hole] = last;
+        }
+    }
+
+    private static <T> void siftDown(T[] arr, int i, T value, int heapSize, Comparator<? super T> cmp) {
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && cmp.compare(arr[child + 1], arr[child]) > 0) {
+                child++;
+            }
+            if (cmp.compare(arr[child], value) <= 0) break;
+            arr[i] = arr[child];
+            i = child;
+        }
+        arr[i] = value;
+    }
+
     // 主要排序函數
     public static void heapSort(int[] arr) {
         if (arr == null || arr.length <= 1) {
@@ -144,5 +270,25 @@ public class HeapSort {
         
         // 比較不同排序方法
         compareWithOtherSorts();
+        
+        // 安靜版本與 Arrays.sort 比對（大量重複值）
+        Random random = new Random(42);
+        boolean same = true;
+        for (int size = 0; size < 3000; size += 37) {
+            int[] data = random.ints(size, 0, 50).toArray();
+            int[] expected = data.clone();
+            Arrays.sort(expected);
+            int[] a = data.clone(), b = data.clone();
+            Integer[] c = Arrays.stream(data).boxed().toArray(Integer[]::new);
+            Integer[] d = c.clone();
+            sort(a);
+            sortBottomUp(b);
+            sort(c, Comparator.naturalOrder());
+            sortBottomUp(d, Comparator.naturalOrder());
+            same &= Arrays.equals(expected, a) && Arrays.equals(expected, b)
+                    && Arrays.equals(expected, Arrays.stream(c).mapToInt(Integer::intValue).toArray())
+                    && Arrays.equals(expected, Arrays.stream(d).mapToInt(Integer::intValue).toArray());
+        }
+        System.out.println("\nsort / sortBottomUp 與 Arrays.sort 一致: " + same);
     }
 }
@@ -0,0 +1,185 @@
+import java.util.Arrays;
+import java.util.Comparator;
+
+// 可定位的 d 叉堆：每次搬移任務都把新位置寫回 Task.queueIndex，
+// 因此已知任務即可在 O(log n) 內調整優先級或移除，不必 O(n) 掃描整個堆
+// 時間複雜度：offer / poll / update / remove O(log n)，peek O(1)
+public class IndexedTaskHeap implements TaskQueue {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Task[] heap;
+    private int size;
+    private final int arity;
+    private final int shift;
+    private final Comparator<Task> comparator;
+
+    public IndexedTaskHeap(int arity, Comparator<Task> comparator) {
+        if (arity < 2 || Integer.bitCount(arity) != 1) {
+            throw new IllegalArgumentException("arity 必須是 >= 2 的 2 的次方: " + arity);
+        }
+        this.arity = arity;
+        this.shift = Integer.numberOfTrailingZeros(arity);
+        this.comparator = comparator;
+        heap = new Task[DEFAULT_CAPACITY];
+    }
+
+    // 把任務放到位置 i 並記錄位置
+    private void place(int i, Task task) {
+        heap[i] = task;
+        task.queueIndex = i;
+    }
+
+    // 上浮，回傳最後停留的位置
+    private int siftUp(int i, Task task) {
+        while (i > 0) {
+            int parent = (i - 1) >>> shift;
+            Task p = heap[parent];
+            if (comparator.compare(task, p) >= 0) break;
+            place(i, p);
+            i = parent;
+        }
+        place(i, task);
+        return i;
+    }
+
+    private void siftDown(int i, Task task) {
+        int last = (size - 2) >> shift;
+        while (i <= last) {
+            int child = (i << shift) + 1;
+            int end = Math.min(child + arity, size);
+            Task c = heap[child];
+            for (int j = child + 1; j < end; j++) {
+                Task t = heap[j];
+                if (comparator.compare(t, c) < 0) {
+                    child = j;
+                    c = t;
+                }
+            }
+            if (comparator.compare(task, c) <= 0) break;
+            place(i, c);
+            i = child;
+        }
+        place(i, task);
+    }
+
+    @Override
+    public void offer(Task task) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length + (heap.length >> 1));
+        }
+        siftUp(size++, task);
+    }
+
+    @Override
+    public Task poll() {
+        if (size == 0) {
+            return null;
+        }
+        Task top = heap[0];
+        removeAt(0);
+        return top;
+    }
+
+    @Override
+    public Task peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    // 任務的比較欄位（例如優先級）改變後呼叫，依新值上浮或下沉
+    @Override
+    public void update(Task task) {
+        int i = indexOf(task);
+        if (siftUp(i, task) == i) {
+            siftDown(i, task);
+        }
+    }
+
+    // 移除堆中任意任務，不存在時回傳 false
+    @Override
+    public boolean remove(Task task) {
+        int i = task.queueIndex;
+        if (i < 0 || i >= size || heap[i] != task) {
+            return false;
+        }
+        removeAt(i);
+        return true;
+    }
+
+    // 以最後一個元素填補位置 i，再視需要上浮或下沉
+    private void removeAt(int i) {
+        Task removed = heap[i];
+        Task last = heap[--size];
+        heap[size] = null;
+        removed.queueIndex = -1;
+        if (i < size) {
+            if (siftUp(i, last) == i) {
+                siftDown(i, last);
+            }
+        }
+    }
+
+    private int indexOf(Task task) {
+        int i = task.queueIndex;
+        if (i < 0 || i >= size || heap[i] != task) {
+            throw new IllegalArgumentException("任務不在堆中: " + task);
+        }
+        return i;
+    }
+
+    @Override
+    public boolean contains(Task task) {
+        int i = task.queueIndex;
+        return i >= 0 && i < size && heap[i] == task;
+    }
+
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    @Override
+    public int size() { return size; }
+
+    public boolean isValidHeap() {
+        for (int i = 0; i < size; i++) {
+            if (heap[i].queueIndex != i) return false;
+            if (i > 0 && comparator.compare(heap[(i - 1) >>> shift], heap[i]) > 0) return false;
+        }
+        return true;
+    }
+
+    public static void main(String[] args) {
+        IndexedTaskHeap heap = new IndexedTaskHeap(4, TaskScheduler.TASK_ORDER);
+        java.util.Random random = new java.util.Random(42);
+        java.util.List<Task> live = new java.util.ArrayList<>();
+
+        System.out.println("=== 可定位堆隨機操作測試 ===");
+        for (int step = 0; step < 200_000; step++) {
+            int op = random.nextInt(6);
+            if (op >= 3 || live.isEmpty()) {
+                Task task = new Task(step, "T" + step, random.nextInt(10), step);
+                heap.offer(task);
+                live.add(task);
+            } else if (op == 1) {
+                Task task = live.get(random.nextInt(live.size()));
+                task.priority = random.nextInt(10);
+                heap.update(task);
+            } else if (op == 2) {
+                Task task = live.remove(random.nextInt(live.size()));
+                heap.remove(task);
+            } else {
+                Task top = heap.poll();
+                live.remove(top);
+            }
+        }
+        System.out.println("大小: " + heap.size() + " (預期 " + live.size() + ")"
+                + ", 是否有效: " + heap.isValidHeap());
+
+        boolean ordered = true;
+        Task prev = heap.poll();
+        while (!heap.isEmpty()) {
+            Task next = heap.poll();
+            ordered &= TaskScheduler.TASK_ORDER.compare(prev, next) <= 0;
+            prev = next;
+        }
+        System.out.println("依序取出: " + ordered);
+    }
+}
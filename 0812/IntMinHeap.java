@@ -0,0 +1,188 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// 以 int[] 儲存的 Min Heap：不裝箱，容量不足時成長 1.5 倍
+// 上浮/下沉採「空洞」法：把待放入的值拿在手上，只搬移沿路的元素，最後寫入一次，
+// 每層一次寫入而不是一次交換（三次讀寫）
+// arity 為每個節點的子節點數（2 的次方），4/8 叉時兄弟節點相鄰、同在一兩條快取線內，
+// 樹高降為 log_d n，下沉每層多比較幾次但少了大量快取未命中
+public class IntMinHeap {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] heap;
+    private int size;
+    private final int arity;
+    private final int shift; // log2(arity)，以位移計算父/子索引
+
+    public IntMinHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntMinHeap(int initialCapacity) {
+        this(initialCapacity, 2);
+    }
+
+    public IntMinHeap(int initialCapacity, int arity) {
+        if (arity < 2 || Integer.bitCount(arity) != 1) {
+            throw new IllegalArgumentException("arity 必須是 >= 2 的 2 的次方: " + arity);
+        }
+        this.arity = arity;
+        this.shift = Integer.numberOfTrailingZeros(arity);
+        heap = new int[Math.max(initialCapacity, 1)];
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > heap.length) {
+            int newCapacity = Math.max(required, heap.length + (heap.length >> 1));
+            heap = Arrays.copyOf(heap, newCapacity);
+        }
+    }
+
+    // 從位置 i 開始上浮 value
+    private void siftUp(int i, int value) {
+        while (i > 0) {
+            int parent = (i - 1) >>> shift;
+            int p = heap[parent];
+            if (value >= p) break;
+            heap[i] = p;
+            i = parent;
+        }
+        heap[i] = value;
+    }
+
+    // 最後一個非葉節點的索引，size < 2 時為 -1（以此避免 i << shift 溢位）
+    private int lastParent() {
+        return (size - 2) >> shift;
+    }
+
+    // 從位置 i 開始下沉 value，每層在 arity 個相鄰子節點中挑出最小者
+    private void siftDown(int i, int value) {
+        int last = lastParent();
+        while (i <= last) {
+            int child = (i << shift) + 1;
+            int end = Math.min(child + arity, size);
+            int c = heap[child];
+            for (int j = child + 1; j < end; j++) {
+                int v = heap[j];
+                if (v < c) {
+                    child = j;
+                    c = v;
+                }
+            }
+            if (value <= c) break;
+            heap[i] = c;
+            i = child;
+        }
+        heap[i] = value;
+    }
+
+    public void insert(int value) {
+        ensureCapacity(size + 1);
+        siftUp(size++, value);
+    }
+
+    // 批次插入：新增量相對於既有大小夠大時，整個陣列以 bottom-up 建堆 O(n + m)，
+    // 否則逐一上浮 O(m log n)
+    public void insertAll(int[] values) {
+        int m = values.length;
+        if (m == 0) return;
+        ensureCapacity(size + m);
+        if (m >= size) {
+            System.arraycopy(values, 0, heap, size, m);
+            size += m;
+            for (int i = lastParent(); i >= 0; i--) {
+                siftDown(i, heap[i]);
+            }
+        } else {
+            for (int value : values) {
+                siftUp(size++, value);
+            }
+        }
+    }
+
+    public int extractMin() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        int min = heap[0];
+        int last = heap[--size];
+        if (size > 0) {
+            siftDown(0, last);
+        }
+        return min;
+    }
+
+    // 取出堆頂並放入 value，只做一次下沉（等同 extractMin 後 insert）
+    public int replaceTop(int value) {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        int top = heap[0];
+        siftDown(0, value);
+        return top;
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return heap[0];
+    }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public int size() { return size; }
+
+    public int arity() { return arity; }
+
+    public boolean isValidHeap() {
+        for (int i = 1; i < size; i++) {
+            if (heap[(i - 1) >>> shift] > heap[i]) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() { return Arrays.toString(Arrays.copyOf(heap, size)); }
+
+    public static void main(String[] args) {
+        IntMinHeap minHeap = new IntMinHeap(2);
+
+        System.out.println("=== int[] Min Heap 操作示範 ===");
+        int[] values = {40, 30, 15, 20, 10};
+        for (int value : values) {
+            minHeap.insert(value);
+            System.out.println("插入 " + value + " 後: " + minHeap);
+        }
+
+        minHeap.insertAll(new int[]{4, 10, 3, 5, 1, 15, 20, 17});
+        System.out.println("\n批次插入後: " + minHeap + ", 是否為有效 Min Heap: " + minHeap.isValidHeap());
+
+        System.out.println("\n依序取出最小值:");
+        StringBuilder sb = new StringBuilder();
+        while (!minHeap.isEmpty()) {
+            sb.append(minHeap.extractMin()).append(' ');
+        }
+        System.out.println(sb.toString().trim());
+
+        // 4 叉與 8 叉：結果應與二元堆相同
+        java.util.Random random = new java.util.Random(42);
+        int[] data = new int[100_000];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = random.nextInt();
+        }
+        for (int arity : new int[]{4, 8}) {
+            IntMinHeap heap = new IntMinHeap(16, arity);
+            heap.insertAll(data);
+            boolean valid = heap.isValidHeap();
+            boolean ordered = true;
+            int prev = heap.extractMin();
+            while (!heap.isEmpty()) {
+                int next = heap.extractMin();
+                ordered &= next >= prev;
+                prev = next;
+            }
+            System.out.println(arity + " 叉堆: 有效 " + valid + ", 依序取出 " + ordered);
+        }
+    }
+}
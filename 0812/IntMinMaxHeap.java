@@ -0,0 +1,287 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+// 以單一 int[] 儲存的最小-最大堆（雙端優先佇列）：偶數層（含根）的節點不大於其子樹，奇數層的節點不小於其子樹，
+// 因此最小值在根、最大值是根的兩個子節點中較大者。
+// 取代「MinHeap 與 MaxHeap 各存一份」的做法：只存一份資料，從一端取出時不必到另一個堆做延遲刪除
+// 上浮/下沉與 IntMinHeap 相同採「空洞」法，每層只寫入一次
+// 時間複雜度：insert / extractMin / extractMax O(log n)，peekMin / peekMax O(1)，insertAll O(n + m)
+public class IntMinMaxHeap {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] heap;
+    private int size;
+
+    public IntMinMaxHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public IntMinMaxHeap(int initialCapacity) {
+        heap = new int[Math.max(initialCapacity, 1)];
+    }
+
+    // 深度為偶數的層為最小層
+    private static boolean isMinLevel(int i) {
+        return (31 - Integer.numberOfLeadingZeros(i + 1) & 1) == 0;
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > heap.length) {
+            int newCapacity = Math.max(required, heap.length + (heap.length >> 1));
+            heap = Arrays.copyOf(heap, newCapacity);
+        }
+    }
+
+    // 從位置 i 放入 value 並上浮：先與父節點（另一種層）比較決定走哪一條鏈，再沿祖父節點上浮
+    private void bubbleUp(int i, int value) {
+        if (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int p = heap[parent];
+            if (isMinLevel(i)) {
+                if (value > p) {
+                    heap[i] = p;
+                    bubbleUpMax(parent, value);
+                    return;
+                }
+                bubbleUpMin(i, value);
+                return;
+            }
+            if (value < p) {
+                heap[i] = p;
+                bubbleUpMin(parent, value);
+                return;
+            }
+            bubbleUpMax(i, value);
+            return;
+        }
+        heap[0] = value;
+    }
+
+    private void bubbleUpMin(int i, int value) {
+        while (i >= 3) {
+            int grandparent = (((i - 1) >>> 1) - 1) >>> 1;
+            int g = heap[grandparent];
+            if (value >= g) break;
+            heap[i] = g;
+            i = grandparent;
+        }
+        heap[i] = value;
+    }
+
+    private void bubbleUpMax(int i, int value) {
+        while (i >= 3) {
+            int grandparent = (((i - 1) >>> 1) - 1) >>> 1;
+            int g = heap[grandparent];
+            if (value <= g) break;
+            heap[i] = g;
+            i = grandparent;
+        }
+        heap[i] = value;
+    }
+
+    private void trickleDown(int i, int value) {
+        if (isMinLevel(i)) {
+            trickleDownMin(i, value);
+        } else {
+            trickleDownMax(i, value);
+        }
+    }
+
+    // 在子節點與孫節點（最多 6 個）中找最小者 m：m 是孫節點時上移並繼續往下，
+    // 手上的值若大於 m 的父節點（最大層）則與它交換後再繼續
+    private void trickleDownMin(int i, int value) {
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            int m = child;
+            int mv = heap[child];
+            if (child + 1 < size && heap[child + 1] < mv) {
+                m = child + 1;
+                mv = heap[m];
+            }
+            int end = Math.min(4 * i + 7, size);
+            for (int j = 4 * i + 3; j < end; j++) {
+                if (heap[j] < mv) {
+                    m = j;
+                    mv = heap[j];
+                }
+            }
+            if (mv >= value) break;
+            heap[i] = mv;
+            i = m;
+            if (m <= child + 1) break; // 子節點沒有更深的最小層
+            int parent = (m - 1) >>> 1;
+            if (value > heap[parent]) {
+                int t = heap[parent];
+                heap[parent] = value;
+                value = t;
+            }
+        }
+        heap[i] = value;
+    }
+
+    private void trickleDownMax(int i, int value) {
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            int m = child;
+            int mv = heap[child];
+            if (child + 1 < size && heap[child + 1] > mv) {
+                m = child + 1;
+                mv = heap[m];
+            }
+            int end = Math.min(4 * i + 7, size);
+            for (int j = 4 * i + 3; j < end; j++) {
+                if (heap[j] > mv) {
+                    m = j;
+                    mv = heap[j];
+                }
+            }
+            if (mv <= value) break;
+            heap[i] = mv;
+            i = m;
+            if (m <= child + 1) break;
+            int parent = (m - 1) >>> 1;
+            if (value < heap[parent]) {
+                int t = heap[parent];
+                heap[parent] = value;
+                value = t;
+            }
+        }
+        heap[i] = value;
+    }
+
+    public void insert(int value) {
+        ensureCapacity(size + 1);
+        bubbleUp(size++, value);
+    }
+
+    // 批次插入：新增量相對於既有大小夠大時，整個陣列由下而上建堆 O(n + m)，否則逐一上浮
+    public void insertAll(int[] values) {
+        int m = values.length;
+        if (m == 0) return;
+        ensureCapacity(size + m);
+        if (m >= size) {
+            System.arraycopy(values, 0, heap, size, m);
+            size += m;
+            for (int i = (size - 2) >> 1; i >= 0; i--) {
+                trickleDown(i, heap[i]);
+            }
+        } else {
+            for (int value : values) {
+                bubbleUp(size++, value);
+            }
+        }
+    }
+
+    // 最大值的位置：根的兩個子節點中較大者（size <= 1 時為根）
+    private int maxIndex() {
+        if (size <= 2) {
+            return size - 1;
+        }
+        return heap[1] >= heap[2] ? 1 : 2;
+    }
+
+    public int extractMin() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        int min = heap[0];
+        int last = heap[--size];
+        if (size > 0) {
+            trickleDownMin(0, last);
+        }
+        return min;
+    }
+
+    public int extractMax() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        int i = maxIndex();
+        int max = heap[i];
+        int last = heap[--size];
+        if (i < size) {
+            trickleDown(i, last);
+        }
+        return max;
+    }
+
+    public int peekMin() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return heap[0];
+    }
+
+    public int peekMax() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        return heap[maxIndex()];
+    }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public int size() { return size; }
+
+    // 檢查每個節點與父節點、祖父節點的關係（足以推得整棵子樹的性質）
+    public boolean isValidHeap() {
+        for (int i = 1; i < size; i++) {
+            int parent = heap[(i - 1) >>> 1];
+            boolean minLevel = isMinLevel(i);
+            if (minLevel ? heap[i] > parent : heap[i] < parent) return false;
+            if (i >= 3) {
+                int grandparent = heap[(((i - 1) >>> 1) - 1) >>> 1];
+                if (minLevel ? heap[i] < grandparent : heap[i] > grandparent) return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() { return Arrays.toString(Arrays.copyOf(heap, size)); }
+
+    public static void main(String[] args) {
+        IntMinMaxHeap heap = new IntMinMaxHeap(4);
+
+        System.out.println("=== int[] 最小-最大堆操作示範 ===");
+        int[] values = {40, 30, 15, 20, 10, 50, 5, 35};
+        for (int value : values) {
+            heap.insert(value);
+            System.out.println("插入 " + value + " 後: " + heap + "  最小 " + heap.peekMin() + ", 最大 " + heap.peekMax());
+        }
+        System.out.println("是否為有效最小-最大堆: " + heap.isValidHeap());
+        System.out.println("取出最大 " + heap.extractMax() + ", 取出最小 " + heap.extractMin() + " 後: " + heap);
+
+        // 與 TreeMap 計數表比對隨機的兩端操作（含重複值）
+        java.util.Random random = new java.util.Random(42);
+        java.util.TreeMap<Integer, Integer> reference = new java.util.TreeMap<>();
+        IntMinMaxHeap test = new IntMinMaxHeap();
+        int[] batch = new int[50_000];
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = random.nextInt(1000);
+            reference.merge(batch[i], 1, Integer::sum);
+        }
+        test.insertAll(batch);
+        boolean same = test.isValidHeap();
+        for (int step = 0; step < 200_000; step++) {
+            int op = random.nextInt(4);
+            if (op < 2 || reference.isEmpty()) {
+                int v = random.nextInt(1000);
+                test.insert(v);
+                reference.merge(v, 1, Integer::sum);
+            } else {
+                int expected = op == 2 ? reference.firstKey() : reference.lastKey();
+                int actual = op == 2 ? test.extractMin() : test.extractMax();
+                same &= expected == actual;
+                reference.computeIfPresent(expected, (k, c) -> c == 1 ? null : c - 1);
+            }
+            if (!reference.isEmpty()) {
+                same &= test.peekMin() == reference.firstKey() && test.peekMax() == reference.lastKey();
+            }
+        }
+        System.out.println("隨機操作與 TreeMap 一致: " + same + ", 是否有效: " + test.isValidHeap()
+                + ", 大小: " + test.size());
+    }
+}
@@ -0,0 +1,306 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/*
+ * Time Complexity: add 攤銷 O(log(n/k))，quantile O(m log m)，m = 保留樣本數（約 3k）
+ * 說明：KLL 近似分位數草圖（Karnin-Lang-Liberty），記憶體固定，適合無限長的地震規模資料流求 p50/p95/p99。
+ *       第 h 層的樣本各代表 2^h 個原始樣本；某層滿了就排序後隨機取奇數或偶數位置的一半升到上一層，
+ *       各層容量由上往下按 2/3 遞減，最上層為 k。排名誤差約 1.65/k（k = 200 時約 1%）
+ * 空間複雜度：O(k)，與樣本數無關
+ */
+public class KllSketch {
+    private static final double C = 2.0 / 3.0;
+    private static final int MIN_CAPACITY = 2;
+
+    private final int k;
+    private final SplittableRandom random;
+
+    private double[][] levels = {new double[MIN_CAPACITY]};
+    private int[] sizes = new int[1];
+    private int[] capacities = new int[1];
+    private int height;
+    private int totalCapacity;
+    private int retained;
+    private long n;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    public KllSketch() {
+        this(200);
+    }
+
+    public KllSketch(int k) {
+        this(k, new SplittableRandom());
+    }
+
+    // 固定 seed 可讓結果可重現（測試用）
+    public KllSketch(int k, long seed) {
+        this(k, new SplittableRandom(seed));
+    }
+
+    private KllSketch(int k, SplittableRandom random) {
+        if (k < 8) {
+            throw new IllegalArgumentException("k 至少為 8: " + k);
+        }
+        this.k = k;
+        this.random = random;
+        height = 1;
+        updateCapacities();
+    }
+
+    // 第 h 層容量 = max(2, ceil(k * (2/3)^(height - 1 - h)))
+    private void updateCapacities() {
+        if (capacities.length < height) {
+            capacities = Arrays.copyOf(capacities, height);
+        }
+        totalCapacity = 0;
+        for (int h = 0; h < height; h++) {
+            capacities[h] = Math.max(MIN_CAPACITY, (int) Math.ceil(k * Math.pow(C, height - 1 - h)));
+            totalCapacity += capacities[h];
+        }
+    }
+
+    private void addLevel() {
+        levels = Arrays.copyOf(levels, height + 1);
+        sizes = Arrays.copyOf(sizes, height + 1);
+        levels[height] = new double[MIN_CAPACITY];
+        height++;
+        updateCapacities();
+    }
+
+    private void push(int h, double value) {
+        if (sizes[h] == levels[h].length) {
+            levels[h] = Arrays.copyOf(levels[h], sizes[h] * 2);
+        }
+        levels[h][sizes[h]++] = value;
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("樣本不可為 NaN");
+        }
+        if (n == 0 || value < min) min = value;
+        if (n == 0 || value > max) max = value;
+        n++;
+        push(0, value);
+        retained++;
+        if (retained >= totalCapacity) {
+            compress();
+        }
+    }
+
+    // 找最低的已滿層壓縮一次；每次壓縮至少少掉一個樣本，容量又隨高度成長，所以迴圈很快結束
+    private void compress() {
+        while (retained >= totalCapacity) {
+            for (int h = 0; h < height; h++) {
+                if (sizes[h] >= capacities[h]) {
+                    if (h + 1 == height) {
+                        addLevel();
+                    }
+                    compact(h);
+                    break;
+                }
+            }
+        }
+    }
+
+    // 排序第 h 層，隨機取奇數或偶數位置升到 h + 1 層；奇數個時最大的一個留在原層
+    private void compact(int h) {
+        double[] items = levels[h];
+        int size = sizes[h];
+        Arrays.sort(items, 0, size);
+        int keep = size & 1;
+        int pairs = size - keep;
+        for (int i = random.nextBoolean() ? 1 : 0; i < pairs; i += 2) {
+            push(h + 1, items[i]);
+        }
+        if (keep == 1) {
+            items[0] = items[size - 1];
+        }
+        sizes[h] = keep;
+        retained -= pairs / 2;
+    }
+
+    // 合併另一個草圖（例如不同測站的資料流），other 不會被修改
+    public void merge(KllSketch other) {
+        if (other.n == 0) {
+            return;
+        }
+        while (height < other.height) {
+            addLevel();
+        }
+        for (int h = 0; h < other.height; h++) {
+            for (int i = 0; i < other.sizes[h]; i++) {
+                push(h, other.levels[h][i]);
+            }
+        }
+        retained += other.retained;
+        min = n == 0 ? other.min : Math.min(min, other.min);
+        max = n == 0 ? other.max : Math.max(max, other.max);
+        n += other.n;
+        compress();
+    }
+
+    // 近似 q 分位數（0 <= q <= 1），q = 0 / 1 回傳精確的最小 / 最大值；沒有樣本時回傳 NaN
+    public double quantile(double q) {
+        return quantiles(q)[0];
+    }
+
+    // 一次求多個分位數，只建一次排序視圖
+    public double[] quantiles(double... qs) {
+        double[] result = new double[qs.length];
+        if (n == 0) {
+            Arrays.fill(result, Double.NaN);
+            return result;
+        }
+        double[] values = new double[retained];
+        long[] cumulative = new long[retained];
+        sortedView(values, cumulative);
+        for (int i = 0; i < qs.length; i++) {
+            double q = qs[i];
+            if (!(q >= 0 && q <= 1)) {
+                throw new IllegalArgumentException("分位數須介於 0 與 1: " + q);
+            }
+            if (q == 0) {
+                result[i] = min;
+            } else if (q == 1) {
+                result[i] = max;
+            } else {
+                long rank = Math.max(1, (long) Math.ceil(q * n));
+                int idx = Arrays.binarySearch(cumulative, rank);
+                result[i] = values[idx >= 0 ? idx : -idx - 1];
+            }
+        }
+        return result;
+    }
+
+    // 近似的正規化排名：小於等於 value 的樣本比例
+    public double rank(double value) {
+        if (n == 0) {
+            return Double.NaN;
+        }
+        long weight = 0;
+        for (int h = 0; h < height; h++) {
+            for (int i = 0; i < sizes[h]; i++) {
+                if (levels[h][i] <= value) {
+                    weight += 1L << h;
+                }
+            }
+        }
+        return (double) weight / n;
+    }
+
+    // 逐層排序後依序合併，values 遞增，cumulative[i] 為 values[0..i] 的權重和
+    private void sortedView(double[] values, long[] cumulative) {
+        double[] buffer = new double[retained];
+        long[] weights = new long[retained];
+        double[] mergedValues = new double[retained];
+        long[] mergedWeights = new long[retained];
+        int m = 0;
+        for (int h = 0; h < height; h++) {
+            int size = sizes[h];
+            if (size == 0) continue;
+            System.arraycopy(levels[h], 0, buffer, 0, size);
+            Arrays.sort(buffer, 0, size);
+            long w = 1L << h;
+            int i = 0, j = 0, out = 0;
+            while (i < m || j < size) {
+                if (j == size || (i < m && values[i] <= buffer[j])) {
+                    mergedValues[out] = values[i];
+                    mergedWeights[out++] = weights[i++];
+                } else {
+                    mergedValues[out] = buffer[j++];
+                    mergedWeights[out++] = w;
+                }
+            }
+            m = out;
+            System.arraycopy(mergedValues, 0, values, 0, m);
+            System.arraycopy(mergedWeights, 0, weights, 0, m);
+        }
+        long sum = 0;
+        for (int i = 0; i < m; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+    }
+
+    // 累計樣本數
+    public long count() {
+        return n;
+    }
+
+    // 目前保留的樣本數（記憶體用量）
+    public int retained() {
+        return retained;
+    }
+
+    public double min() {
+        return min;
+    }
+
+    public double max() {
+        return max;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== KLL 近似分位數（地震規模資料流）===");
+        Random random = new Random(7);
+        int n = 1_000_000;
+        double[] feed = new double[n];
+        KllSketch sketch = new KllSketch(200, 1);
+        for (int i = 0; i < n; i++) {
+            feed[i] = StreamingMedian.quakeMagnitude(random);
+            sketch.add(feed[i]);
+        }
+        double[] sorted = feed.clone();
+        Arrays.sort(sorted);
+
+        double[] qs = {0.5, 0.95, 0.99};
+        double[] approx = sketch.quantiles(qs);
+        double worst = 0;
+        for (int i = 0; i < qs.length; i++) {
+            double exact = sorted[(int) Math.ceil(qs[i] * n) - 1];
+            // 排名誤差：近似值在精確排序中的位置與目標分位數的差
+            double rankError = Math.abs(upperRank(sorted, approx[i]) - qs[i]);
+            worst = Math.max(worst, rankError);
+            System.out.printf("p%-3s 近似 %.4f，精確 %.4f，排名誤差 %.4f%n",
+                    (int) Math.round(qs[i] * 100), approx[i], exact, rankError);
+        }
+        System.out.println("最大排名誤差 < 2%: " + (worst < 0.02));
+        System.out.println("樣本數: " + sketch.count() + ", 保留: " + sketch.retained()
+                + ", 最小/最大: " + sketch.min() + " / " + sketch.max());
+
+        // 兩個測站各自統計後合併，與單一草圖的分位數接近
+        KllSketch north = new KllSketch(200, 2);
+        KllSketch south = new KllSketch(200, 3);
+        for (int i = 0; i < n; i++) {
+            (i % 2 == 0 ? north : south).add(feed[i]);
+        }
+        north.merge(south);
+        double p95 = north.quantile(0.95);
+        System.out.printf("合併後 p95 %.4f，排名誤差 %.4f，保留 %d%n",
+                p95, Math.abs(upperRank(sorted, p95) - 0.95), north.retained());
+
+        // 吞吐量
+        KllSketch bench = new KllSketch();
+        long start = System.nanoTime();
+        for (int i = 0; i < 10_000_000; i++) {
+            bench.add(StreamingMedian.quakeMagnitude(random));
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("1000 萬筆 add: %.0f 筆/秒，p99 %.3f%n",
+                10_000_000 / (elapsed / 1e9), bench.quantile(0.99));
+    }
+
+    // 小於等於 value 的比例
+    private static double upperRank(double[] sorted, double value) {
+        int lo = 0, hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] <= value) lo = mid + 1;
+            else hi = mid;
+        }
+        return (double) lo / sorted.length;
+    }
+}
@@ -1,4 +1,5 @@
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class KthLargest {
     
@@ -23,6 +24,25 @@ public class KthLargest {
         return minHeap.peek();
     }
     
+    // 方法1b：同方法1，但以 int[] d 叉 Min Heap 實作，不裝箱、不輸出過程
+    // 堆滿 k 個後，只有比堆頂大的數才以 replaceTop 換入，一次下沉取代 offer + poll
+    // 時間複雜度: O(n log_d k)，空間 O(k)
+    public static int findKthLargest(int[] nums, int k, int arity) {
+        if (k <= 0 || k > nums.length) {
+            throw new IllegalArgumentException("k 必須介於 1 與 " + nums.length + " 之間: " + k);
+        }
+        IntMinHeap minHeap = new IntMinHeap(k, arity);
+        for (int i = 0; i < k; i++) {
+            minHeap.insert(nums[i]);
+        }
+        for (int i = k; i < nums.length; i++) {
+            if (nums[i] > minHeap.peek()) {
+                minHeap.replaceTop(nums[i]);
+            }
+        }
+        return minHeap.peek();
+    }
+    
     // 方法2：建立完整 Max Heap 後取出 K 次
     public static int findKthLargestByMaxHeap(int[] nums, int k) {
         PriorityQueue<Integer> maxHeap = new PriorityQueue<>((a, b) -> b - a);
@@ -82,7 +102,123 @@ public class KthLargest {
         nums[i] = nums[j];
         nums[j] = temp;
     }
-    
+
+    // 方法4：Introselect，不輸出過程
+    // 迭代式快速選擇：樞紐取三個隨機位置的中位數，Lomuto 切分；樞紐等於區間下界時改為把等於樞紐者一次排除，大量重複值也是線性；
+    // 切分次數超過 2 log2 n 表示樞紐持續太差（例如刻意構造的輸入），改以中位數的中位數選樞紐，最壞仍為 O(n)
+    // inPlace 為 false 時先複製，不修改 nums
+    // 時間複雜度: 平均 O(n)，最壞 O(n)，空間 O(1)（inPlace）或 O(n)
+    public static int findKthLargestByIntroselect(int[] nums, int k, boolean inPlace) {
+        if (k <= 0 || k > nums.length) {
+            throw new IllegalArgumentException("k 必須介於 1 與 " + nums.length + " 之間: " + k);
+        }
+        int[] a = inPlace ? nums : nums.clone();
+        return introselect(a, 0, a.length - 1, a.length - k, 2 * (31 - Integer.numberOfLeadingZeros(a.length)));
+    }
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    // 在 a[lo..hi] 中找遞增順序第 target 個（絕對索引），結束時 a[target] 即為答案；
+    // depthLimit 用完後改用中位數的中位數
+    private static int introselect(int[] a, int lo, int hi, int target, int depthLimit) {
+        boolean bounded = false; // a[lo..hi] 是否都 >= floor（floor 為上一輪落在左界外的樞紐）
+        int floor = 0;
+        while (hi - lo >= INSERTION_SORT_THRESHOLD) {
+            int p;
+            if (depthLimit-- > 0) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                p = medianOfThree(a, random.nextInt(lo, hi + 1), random.nextInt(lo, hi + 1),
+                        random.nextInt(lo, hi + 1));
+            } else {
+                p = medianOfMedians(a, lo, hi);
+            }
+            int pivot = a[p];
+            a[p] = a[hi];
+            a[hi] = pivot;
+            if (bounded && pivot == floor) {
+                // 樞紐等於區間最小值：把等於樞紐的都移到左側並一次排除，大量重複值因此仍是線性
+                int store = lo;
+                for (int j = lo; j < hi; j++) {
+                    int v = a[j];
+                    if (v == pivot) {
+                        a[j] = a[store];
+                        a[store++] = v;
+                    }
+                }
+                a[hi] = a[store];
+                a[store] = pivot;
+                if (target <= store) {
+                    return pivot;
+                }
+                lo = store + 1;
+                continue;
+            }
+            // Lomuto 切分：a[lo..m-1] < pivot，a[m] == pivot，a[m+1..hi] >= pivot
+            // 每個元素都交換、只以比較結果推進 m，沒有分支；樞紐接近中位數時比較結果無法預測，分支版會一半預測錯誤
+            int m = lo;
+            for (int j = lo; j < hi; j++) {
+                int v = a[j];
+                a[j] = a[m];
+                a[m] = v;
+                m += v < pivot ? 1 : 0;
+            }
+            a[hi] = a[m];
+            a[m] = pivot;
+            if (target == m) {
+                return pivot;
+            } else if (target < m) {
+                hi = m - 1;
+            } else {
+                lo = m + 1;
+                bounded = true;
+                floor = pivot;
+            }
+        }
+        insertionSort(a, lo, hi);
+        return a[target];
+    }
+
+    // 回傳三個位置中值居中者的位置
+    private static int medianOfThree(int[] a, int x, int y, int z) {
+        if (a[x] > a[y]) {
+            int t = x; x = y; y = t;
+        }
+        if (a[z] <= a[x]) return x;
+        return a[z] < a[y] ? z : y;
+    }
+
+    // 每 5 個一組排序取中位數，移到區間前端，再以同樣方法遞迴求這些中位數的中位數（遞迴深度 O(log5 n)）；
+    // 回傳樞紐所在位置
+    private static int medianOfMedians(int[] a, int lo, int hi) {
+        int groups = 0;
+        for (int start = lo; start <= hi; start += 5) {
+            int end = Math.min(start + 4, hi);
+            insertionSort(a, start, end);
+            swap(a, lo + groups++, (start + end) >>> 1);
+        }
+        int mid = lo + (groups - 1) / 2;
+        introselect(a, lo, lo + groups - 1, mid, 0);
+        return mid;
+    }
+
+    private static void insertionSort(int[] a, int lo, int hi) {
+        for (int i = lo + 1; i <= hi; i++) {
+            int v = a[i];
+            int j = i - 1;
+            while (j >= lo && a[j] > v) {
+                a[j + 1] = a[j];
+                j--;
+            }
+            a[j + 1] = v;
+        }
+    }
+
+    // 方法5：多核心平行掃描，每段各自維護大小為 k 的 int[] Min Heap 後合併（見 ParallelTopK）
+    // 時間複雜度: O((n log k) / P)，P = fork-join 執行緒數；不修改 nums
+    public static int findKthLargestParallel(int[] nums, int k) {
+        return ParallelTopK.kthLargest(nums, k);
+    }
+
     // 測試和比較不同方法
     public static void testKthLargest(int[] nums, int k) {
         System.out.println("=== 找第 " + k + " 大元素 ===");
@@ -98,6 +234,9 @@ public class KthLargest {
         int result1 = findKthLargest(nums.clone(), k);
         System.out.println("結果: " + result1);
         
+        System.out.println("\n方法1b - int[] 4 叉 Min Heap:");
+        System.out.println("結果: " + findKthLargest(nums.clone(), k, 4));
+        
         System.out.println("\n方法2 - Max Heap:");
         int result2 = findKthLargestByMaxHeap(nums.clone(), k);
         System.out.println("結果: " + result2);
@@ -106,10 +245,18 @@ public class KthLargest {
         int result3 = findKthLargestByQuickSelect(nums.clone(), k);
         System.out.println("結果: " + result3);
         
+        System.out.println("\n方法4 - Introselect（不修改原陣列）:");
+        System.out.println("結果: " + findKthLargestByIntroselect(nums, k, false));
+        
+        System.out.println("\n方法5 - 平行 Top-K:");
+        System.out.println("結果: " + findKthLargestParallel(nums, k));
+        
         System.out.println("\n時間複雜度比較:");
         System.out.println("Min Heap: O(n log k), 空間 O(k)");
         System.out.println("Max Heap: O(n log n), 空間 O(n)");
         System.out.println("快速選擇: 平均 O(n), 最壞 O(n²), 空間 O(1)");
+        System.out.println("Introselect: 平均 O(n), 最壞 O(n), 空間 O(1)");
+        System.out.println("平行 Top-K: O((n log k) / P), 空間 O(k P)");
         System.out.println("=" + "=".repeat(40) + "\n");
     }
     
@@ -117,5 +264,28 @@ public class KthLargest {
         testKthLargest(new int[]{3, 2, 1, 5, 6, 4}, 2);
         testKthLargest(new int[]{3, 2, 3, 1, 2, 4, 5, 5, 6}, 4);
         testKthLargest(new int[]{1}, 1);
+        
+        // 快速選擇的最壞情況：已排序、反向、全部相同（固定取最後一個當樞紐時為 O(n²) 且遞迴過深）
+        int n = 2_000_000;
+        Random random = new Random(42);
+        int[][] inputs = {new int[n], new int[n], new int[n], new int[n]};
+        String[] names = {"已排序", "反向", "大量重複", "亂數"};
+        for (int i = 0; i < n; i++) {
+            inputs[0][i] = i;
+            inputs[1][i] = n - i;
+            inputs[2][i] = random.nextInt(4);
+            inputs[3][i] = random.nextInt();
+        }
+        for (int t = 0; t < inputs.length; t++) {
+            int[] sorted = inputs[t].clone();
+            Arrays.sort(sorted);
+            boolean same = true;
+            long start = System.nanoTime();
+            for (int k : new int[]{1, 2, n / 100, n / 2, n - 1, n}) {
+                same &= findKthLargestByIntroselect(inputs[t], k, false) == sorted[n - k];
+            }
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            System.out.println(names[t] + " " + n + " 筆，Introselect 六個 k 皆正確: " + same + " (" + elapsed + " ms)");
+        }
     }
 }
@@ -0,0 +1,171 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Time Complexity: record O(1)，snapshot O(B)，percentile O(B)，B = 桶數（1888）
+ * 說明：HdrHistogram 式的對數線性直方圖，記錄非負 long（例如奈秒延遲）。
+ *       小於 32 的值各占一桶；其餘值依最高位元分段，每段再切 32 個子桶，相對誤差 < 1/32（約 3%）。
+ *       record 只做一次陣列 CAS 遞增（AtomicLongArray），多執行緒同時記錄不需上鎖
+ * 空間複雜度：O(B)，與記錄筆數無關
+ */
+public class LatencyHistogram {
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int BUCKETS = (63 - SUB_BITS + 1) * SUB_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong max = new AtomicLong();
+
+    // 值 → 桶編號：v < 32 時即為 v；否則 e = 最高位元位置，桶 = (e - 4) * 32 + 次高 5 位元
+    static int bucketOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int e = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (e - SUB_BITS)) & (SUB_COUNT - 1);
+        return (e - SUB_BITS + 1) * SUB_COUNT + sub;
+    }
+
+    // 桶中最小與最大的值
+    static long lowestOf(int bucket) {
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+        int e = bucket / SUB_COUNT + SUB_BITS - 1;
+        long sub = bucket % SUB_COUNT;
+        return (SUB_COUNT + sub) << (e - SUB_BITS);
+    }
+
+    static long highestOf(int bucket) {
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+        int e = bucket / SUB_COUNT + SUB_BITS - 1;
+        return lowestOf(bucket) + (1L << (e - SUB_BITS)) - 1;
+    }
+
+    // 記錄一個值，負值視為 0
+    public void record(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(bucketOf(value));
+        long m = max.get();
+        while (value > m && !max.compareAndSet(m, value)) {
+            m = max.get();
+        }
+    }
+
+    // 複製目前的計數；與同時進行的 record 之間不保證原子，最多差幾筆
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy, max.get());
+    }
+
+    // 某一時刻的直方圖內容，不再變動
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long max;
+        private final long total;
+
+        Snapshot(long[] counts, long max) {
+            this.counts = counts;
+            this.max = max;
+            long sum = 0;
+            for (long c : counts) {
+                sum += c;
+            }
+            this.total = sum;
+        }
+
+        public long count() {
+            return total;
+        }
+
+        public long max() {
+            return max;
+        }
+
+        // 第 p 百分位數（0 < p <= 100），回傳所在桶的上界；沒有資料時為 0
+        public long percentile(double p) {
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(p / 100 * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestOf(i), max);
+                }
+            }
+            return max;
+        }
+
+        public double mean() {
+            if (total == 0) {
+                return 0;
+            }
+            double sum = 0;
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] != 0) {
+                    sum += counts[i] * ((lowestOf(i) + highestOf(i)) / 2.0);
+                }
+            }
+            return sum / total;
+        }
+
+        // 兩次快照之間新增的記錄（max 仍為累計值）
+        public Snapshot since(Snapshot earlier) {
+            long[] diff = new long[counts.length];
+            for (int i = 0; i < diff.length; i++) {
+                diff[i] = counts[i] - earlier.counts[i];
+            }
+            return new Snapshot(diff, max);
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + total + ", p50=" + percentile(50) + ", p99=" + percentile(99)
+                    + ", p99.9=" + percentile(99.9) + ", max=" + max;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== 對數線性延遲直方圖 ===");
+
+        // 桶邊界檢查：每個值都落在其桶的範圍內，且相對誤差 < 1/32
+        java.util.Random random = new java.util.Random(42);
+        boolean bounded = true;
+        for (int i = 0; i < 1_000_000; i++) {
+            long v = random.nextLong() >>> (1 + random.nextInt(63));
+            int b = bucketOf(v);
+            long lo = lowestOf(b), hi = highestOf(b);
+            bounded &= lo <= v && v <= hi && (hi - lo) <= Math.max(0, lo / SUB_COUNT);
+        }
+        System.out.println("桶邊界與精度正確: " + bounded);
+
+        // 4 條執行緒同時記錄 1..1,000,000
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            threads[t] = new Thread(() -> {
+                for (int v = 1 + offset; v <= 1_000_000; v += 4) {
+                    histogram.record(v);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        Snapshot s = histogram.snapshot();
+        System.out.println("記錄 1..1000000: " + s);
+        System.out.printf("p50 誤差 %.2f%%, p99 誤差 %.2f%%%n",
+                100.0 * (s.percentile(50) - 500_000) / 500_000, 100.0 * (s.percentile(99) - 990_000) / 990_000);
+    }
+}
@@ -0,0 +1,194 @@
+import java.util.Arrays;
+import java.util.Comparator;
+
+// 最小-最大堆（泛型版）：依比較器，最前者在根，最後者是根的兩個子節點中較後者；int 版見 IntMinMaxHeap
+// 偶數層的節點排在整棵子樹最前面，奇數層的節點排在最後面
+// 時間複雜度：offer / pollMin / pollMax O(log n)，peekMin / peekMax O(1)
+public class MinMaxHeap<E> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Object[] heap;
+    private int size;
+    private final Comparator<? super E> comparator;
+
+    public MinMaxHeap(Comparator<? super E> comparator) {
+        this(DEFAULT_CAPACITY, comparator);
+    }
+
+    public MinMaxHeap(int initialCapacity, Comparator<? super E> comparator) {
+        this.comparator = comparator;
+        heap = new Object[Math.max(initialCapacity, 1)];
+    }
+
+    @SuppressWarnings("unchecked")
+    private E at(int i) {
+        return (E) heap[i];
+    }
+
+    private static boolean isMinLevel(int i) {
+        return (31 - Integer.numberOfLeadingZeros(i + 1) & 1) == 0;
+    }
+
+    private boolean less(E a, E b) {
+        return comparator.compare(a, b) < 0;
+    }
+
+    private void bubbleUp(int i, E value) {
+        if (i > 0) {
+            int parent = (i - 1) >>> 1;
+            E p = at(parent);
+            boolean minLevel = isMinLevel(i);
+            if (minLevel ? less(p, value) : less(value, p)) {
+                heap[i] = p;
+                bubbleUpChain(parent, value, !minLevel);
+            } else {
+                bubbleUpChain(i, value, minLevel);
+            }
+            return;
+        }
+        heap[0] = value;
+    }
+
+    // 沿祖父節點上浮：最小層往小的方向，最大層往大的方向
+    private void bubbleUpChain(int i, E value, boolean minLevel) {
+        while (i >= 3) {
+            int grandparent = (((i - 1) >>> 1) - 1) >>> 1;
+            E g = at(grandparent);
+            if (!(minLevel ? less(value, g) : less(g, value))) break;
+            heap[i] = g;
+            i = grandparent;
+        }
+        heap[i] = value;
+    }
+
+    // 在子節點與孫節點中找最前（最小層）或最後（最大層）的一個，規則同 IntMinMaxHeap
+    private void trickleDown(int i, E value) {
+        boolean minLevel = isMinLevel(i);
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            int m = child;
+            E mv = at(child);
+            int end = Math.min(4 * i + 7, size);
+            for (int j = child + 1; j < end; j = (j == child + 1) ? 4 * i + 3 : j + 1) {
+                E v = at(j);
+                if (minLevel ? less(v, mv) : less(mv, v)) {
+                    m = j;
+                    mv = v;
+                }
+            }
+            if (!(minLevel ? less(mv, value) : less(value, mv))) break;
+            heap[i] = mv;
+            i = m;
+            if (m <= child + 1) break;
+            int parent = (m - 1) >>> 1;
+            E p = at(parent);
+            if (minLevel ? less(p, value) : less(value, p)) {
+                heap[parent] = value;
+                value = p;
+            }
+        }
+        heap[i] = value;
+    }
+
+    public void offer(E value) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length + (heap.length >> 1) + 1);
+        }
+        bubbleUp(size++, value);
+    }
+
+    private int maxIndex() {
+        if (size <= 2) {
+            return size - 1;
+        }
+        return less(at(1), at(2)) ? 2 : 1;
+    }
+
+    // 取出最前者，空堆回傳 null
+    public E pollMin() {
+        return size == 0 ? null : removeAt(0);
+    }
+
+    // 取出最後者，空堆回傳 null
+    public E pollMax() {
+        return size == 0 ? null : removeAt(maxIndex());
+    }
+
+    // 以最後一個元素填補位置 i 後下沉；i 為根或根的子節點，沒有需要比較的祖先
+    private E removeAt(int i) {
+        E removed = at(i);
+        E last = at(--size);
+        heap[size] = null; // 讓 GC 回收
+        if (i < size) {
+            trickleDown(i, last);
+        }
+        return removed;
+    }
+
+    public E peekMin() {
+        return size == 0 ? null : at(0);
+    }
+
+    public E peekMax() {
+        return size == 0 ? null : at(maxIndex());
+    }
+
+    public boolean isEmpty() { return size == 0; }
+
+    public int size() { return size; }
+
+    public boolean isValidHeap() {
+        for (int i = 1; i < size; i++) {
+            E parent = at((i - 1) >>> 1);
+            boolean minLevel = isMinLevel(i);
+            if (minLevel ? less(parent, at(i)) : less(at(i), parent)) return false;
+            if (i >= 3) {
+                E grandparent = at((((i - 1) >>> 1) - 1) >>> 1);
+                if (minLevel ? less(at(i), grandparent) : less(grandparent, at(i))) return false;
+            }
+        }
+        return true;
+    }
+
+    public static void main(String[] args) {
+        MinMaxHeap<String> heap = new MinMaxHeap<>(Comparator.naturalOrder());
+        String[] words = {"pear", "apple", "fig", "kiwi", "banana", "cherry", "date", "grape", "lemon"};
+        for (String w : words) {
+            heap.offer(w);
+        }
+        System.out.println("最前: " + heap.peekMin() + ", 最後: " + heap.peekMax() + ", 大小: " + heap.size()
+                + ", 是否有效: " + heap.isValidHeap());
+        StringBuilder sb = new StringBuilder();
+        while (!heap.isEmpty()) {
+            sb.append(heap.pollMin()).append(' ');
+            if (!heap.isEmpty()) {
+                sb.append(heap.pollMax()).append(' ');
+            }
+        }
+        System.out.println("兩端交替取出: " + sb.toString().trim());
+
+        // 與 TreeMap 計數表比對隨機的兩端操作（含重複值）
+        java.util.Random random = new java.util.Random(42);
+        java.util.TreeMap<Integer, Integer> reference = new java.util.TreeMap<>();
+        MinMaxHeap<Integer> test = new MinMaxHeap<>(Comparator.naturalOrder());
+        boolean same = true;
+        for (int step = 0; step < 200_000; step++) {
+            int op = random.nextInt(4);
+            if (op < 2 || reference.isEmpty()) {
+                int v = random.nextInt(1000);
+                test.offer(v);
+                reference.merge(v, 1, Integer::sum);
+            } else {
+                int expected = op == 2 ? reference.firstKey() : reference.lastKey();
+                Integer actual = op == 2 ? test.pollMin() : test.pollMax();
+                same &= actual == expected;
+                reference.computeIfPresent(expected, (k, c) -> c == 1 ? null : c - 1);
+            }
+        }
+        System.out.println("隨機操作與 TreeMap 一致: " + same + ", 是否有效: " + test.isValidHeap());
+
+        // 空堆 poll/peek 回傳 null，與 PriorityQueue 一致
+        System.out.println("空堆 pollMax: " + heap.pollMax());
+    }
+}
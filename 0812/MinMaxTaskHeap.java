@@ -0,0 +1,282 @@
+import java.util.Arrays;
+import java.util.Comparator;
+
+// 可定位的最小-最大堆（min-max heap）：偶數層的節點排在整棵子樹最前面，奇數層的節點排在最後面，
+// 因此下一個要執行的任務在根，最該被捨棄的任務（最低優先級、同級中最晚提交）在第 1 層的兩個節點之一。
+// 與 IndexedTaskHeap 一樣把位置寫回 Task.queueIndex，可 O(log n) 調整或移除任意任務
+// 時間複雜度：offer / poll / pollLast / update / remove O(log n)，peek / peekLast O(1)
+public class MinMaxTaskHeap implements TaskQueue {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private Task[] heap;
+    private int size;
+    private final Comparator<Task> comparator;
+
+    public MinMaxTaskHeap(Comparator<Task> comparator) {
+        this.comparator = comparator;
+        heap = new Task[DEFAULT_CAPACITY];
+    }
+
+    // 深度為偶數的層是「前端層」（子樹中最先取出者）
+    private static boolean isFrontLevel(int i) {
+        return (31 - Integer.numberOfLeadingZeros(i + 1) & 1) == 0;
+    }
+
+    private boolean before(Task a, Task b) {
+        return comparator.compare(a, b) < 0;
+    }
+
+    private void place(int i, Task task) {
+        heap[i] = task;
+        task.queueIndex = i;
+    }
+
+    private void swap(int i, int j) {
+        Task t = heap[i];
+        place(i, heap[j]);
+        place(j, t);
+    }
+
+    @Override
+    public void offer(Task task) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, heap.length + (heap.length >> 1));
+        }
+        place(size, task);
+        bubbleUp(size++);
+    }
+
+    @Override
+    public Task poll() {
+        if (size == 0) {
+            return null;
+        }
+        Task top = heap[0];
+        removeAt(0);
+        return top;
+    }
+
+    @Override
+    public Task peek() {
+        return size == 0 ? null : heap[0];
+    }
+
+    // 最後才會被取出的任務，佇列為空時回傳 null
+    public Task peekLast() {
+        return size == 0 ? null : heap[lastIndex()];
+    }
+
+    // 取出最後才會被取出的任務（有界排程器的 drop-lowest 用），佇列為空時回傳 null
+    public Task pollLast() {
+        if (size == 0) {
+            return null;
+        }
+        int i = lastIndex();
+        Task task = heap[i];
+        removeAt(i);
+        return task;
+    }
+
+    private int lastIndex() {
+        if (size <= 2) {
+            return size - 1;
+        }
+        return before(heap[1], heap[2]) ? 2 : 1;
+    }
+
+    // 兩種層交錯，無法像一般堆只靠上浮或下沉修正，改為移除後重新插入，仍為 O(log n)
+    @Override
+    public void update(Task task) {
+        if (!contains(task)) {
+            throw new IllegalArgumentException("任務不在堆中: " + task);
+        }
+        removeAt(task.queueIndex);
+        offer(task);
+    }
+
+    @Override
+    public boolean remove(Task task) {
+        if (!contains(task)) {
+            return false;
+        }
+        removeAt(task.queueIndex);
+        return true;
+    }
+
+    // 以最後一個元素填補位置 i：先在子樹內下沉，再從停留處上浮修正與祖先的關係
+    private void removeAt(int i) {
+        Task removed = heap[i];
+        Task last = heap[--size];
+        heap[size] = null;
+        removed.queueIndex = -1;
+        if (i < size) {
+            place(i, last);
+            trickleDown(i);
+            bubbleUp(last.queueIndex);
+        }
+    }
+
+    private void bubbleUp(int i) {
+        if (i == 0) {
+            return;
+        }
+        int parent = (i - 1) >>> 1;
+        if (isFrontLevel(i)) {
+            if (before(heap[parent], heap[i])) {
+                swap(i, parent);
+                bubbleUpBack(parent);
+            } else {
+                bubbleUpFront(i);
+            }
+        } else {
+            if (before(heap[i], heap[parent])) {
+                swap(i, parent);
+                bubbleUpFront(parent);
+            } else {
+                bubbleUpBack(i);
+            }
+        }
+    }
+
+    // 沿著同類型的層（祖父節點）上浮
+    private void bubbleUpFront(int i) {
+        while (i >= 3) {
+            int grandparent = (((i - 1) >>> 1) - 1) >>> 1;
+            if (!before(heap[i], heap[grandparent])) break;
+            swap(i, grandparent);
+            i = grandparent;
+        }
+    }
+
+    private void bubbleUpBack(int i) {
+        while (i >= 3) {
+            int grandparent = (((i - 1) >>> 1) - 1) >>> 1;
+            if (!before(heap[grandparent], heap[i])) break;
+            swap(i, grandparent);
+            i = grandparent;
+        }
+    }
+
+    private void trickleDown(int i) {
+        boolean front = isFrontLevel(i);
+        while (true) {
+            // 在子節點與孫節點中找最前（前端層）或最後（後端層）的一個
+            int child = 2 * i + 1;
+            if (child >= size) {
+                return;
+            }
+            int m = child;
+            int end = Math.min(4 * i + 7, size);
+            for (int j = child + 1; j < end; j++) {
+                if (j == child + 2) {
+                    j = 4 * i + 3; // 跳到孫節點
+                    if (j >= end) break;
+                }
+                if (front ? before(heap[j], heap[m]) : before(heap[m], heap[j])) {
+                    m = j;
+                }
+            }
+            if (m <= child + 1) {
+                // 子節點：最多交換一次即結束
+                if (front ? before(heap[m], heap[i]) : before(heap[i], heap[m])) {
+                    swap(i, m);
+                }
+                return;
+            }
+            if (!(front ? before(heap[m], heap[i]) : before(heap[i], heap[m]))) {
+                return;
+            }
+            swap(i, m);
+            int parent = (m - 1) >>> 1;
+            if (front ? before(heap[parent], heap[m]) : before(heap[m], heap[parent])) {
+                swap(m, parent);
+            }
+            i = m;
+        }
+    }
+
+    @Override
+    public boolean contains(Task task) {
+        int i = task.queueIndex;
+        return i >= 0 && i < size && heap[i] == task;
+    }
+
+    @Override
+    public boolean isEmpty() { return size == 0; }
+
+    @Override
+    public int size() { return size; }
+
+    // 檢查每個節點與父節點、祖父節點的關係（足以推得整棵子樹的性質）
+    public boolean isValidHeap() {
+        for (int i = 0; i < size; i++) {
+            if (heap[i].queueIndex != i) return false;
+            boolean front = isFrontLevel(i);
+            if (i > 0) {
+                Task parent = heap[(i - 1) >>> 1];
+                if (front ? before(parent, heap[i]) : before(heap[i], parent)) return false;
+            }
+            if (i >= 3) {
+                Task grandparent = heap[(((i - 1) >>> 1) - 1) >>> 1];
+                if (front ? before(heap[i], grandparent) : before(grandparent, heap[i])) return false;
+            }
+        }
+        return true;
+    }
+
+    public static void main(String[] args) {
+        MinMaxTaskHeap heap = new MinMaxTaskHeap(TaskScheduler.TASK_ORDER);
+        java.util.Random random = new java.util.Random(42);
+        java.util.TreeSet<Task> reference = new java.util.TreeSet<>(TaskScheduler.TASK_ORDER);
+
+        System.out.println("=== 可定位最小-最大堆隨機操作測試 ===");
+        boolean same = true;
+        for (int step = 0; step < 200_000; step++) {
+            int op = random.nextInt(8);
+            if (op >= 4 || reference.isEmpty()) {
+                Task task = new Task(step, "T" + step, random.nextInt(10), step);
+                heap.offer(task);
+                reference.add(task);
+            } else if (op == 1) {
+                Task task = reference.ceiling(new Task(-1, "", random.nextInt(10), -1));
+                if (task != null) {
+                    reference.remove(task);
+                    task.priority = random.nextInt(10);
+                    heap.update(task);
+                    reference.add(task);
+                }
+            } else if (op == 2) {
+                Task task = reference.ceiling(new Task(-1, "", random.nextInt(10), -1));
+                if (task != null) {
+                    reference.remove(task);
+                    same &= heap.remove(task);
+                }
+            } else if (op == 3) {
+                same &= heap.pollLast() == reference.pollLast();
+            } else {
+                same &= heap.poll() == reference.pollFirst();
+            }
+            if (!reference.isEmpty()) {
+                same &= heap.peek() == reference.first() && heap.peekLast() == reference.last();
+            }
+        }
+        System.out.println("大小: " + heap.size() + " (預期 " + reference.size() + ")"
+                + ", 是否有效: " + heap.isValidHeap() + ", 兩端與 TreeSet 一致: " + same);
+
+        // 交替從兩端取出：前端應依序遞增、後端依序遞減，最後在中間相遇
+        boolean ordered = true;
+        Task front = null, back = null;
+        while (!heap.isEmpty()) {
+            Task first = heap.poll();
+            ordered &= front == null || TaskScheduler.TASK_ORDER.compare(front, first) < 0;
+            front = first;
+            Task last = heap.pollLast();
+            if (last != null) {
+                ordered &= back == null || TaskScheduler.TASK_ORDER.compare(last, back) < 0;
+                ordered &= TaskScheduler.TASK_ORDER.compare(first, last) < 0;
+                back = last;
+            }
+        }
+        System.out.println("交替從兩端取出順序正確: " + ordered);
+    }
+}
@@ -0,0 +1,248 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/*
+ * Time Complexity: O((n log R) / P + n log k / P)，R = 每段長度，k = 段數，P = 執行緒數
+ * 說明：以 fork-join pool 平行排序 int[]，不輸出過程。
+ *       1. 切成 k 段（每段最多 RUN_SIZE 個，至少 P 段），各段以 HeapSort.sort 平行排序；
+ *          段落小到能放進快取，堆排序的隨機存取不會每層都未命中
+ *       2. 把輸出切成 P 份，以多序列選擇（對值二分搜尋）找出每份在各段中的起訖位置，
+ *          每份各自以段首組成的 Min Heap 做 k 路合併到暫存陣列，最後平行複製回原陣列
+ * 空間複雜度：O(n)（合併用的暫存陣列）+ O(k * P)
+ */
+public final class ParallelHeapSort {
+    static final int SEQUENTIAL_THRESHOLD = 1 << 13; // 小於此大小直接在呼叫端排序
+    static final int RUN_SIZE = 1 << 18;              // 1 MB 的 int，約為 L2 快取大小
+
+    private ParallelHeapSort() {
+    }
+
+    public static void sort(int[] arr) {
+        sort(arr, ForkJoinPool.commonPool());
+    }
+
+    public static void sort(int[] arr, ForkJoinPool pool) {
+        int n = arr.length;
+        if (n < SEQUENTIAL_THRESHOLD) {
+            HeapSort.sort(arr);
+            return;
+        }
+        int parallelism = pool.getParallelism();
+        int runs = Math.max(parallelism, (n + RUN_SIZE - 1) / RUN_SIZE);
+        runs = Math.min(runs, n / SEQUENTIAL_THRESHOLD);
+        int[] runStart = new int[runs + 1];
+        for (int r = 0; r <= runs; r++) {
+            runStart[r] = (int) ((long) n * r / runs);
+        }
+
+        List<RecursiveAction> sorts = new ArrayList<>(runs);
+        for (int r = 0; r < runs; r++) {
+            int from = runStart[r], to = runStart[r + 1];
+            sorts.add(action(() -> HeapSort.sort(arr, from, to)));
+        }
+        pool.invoke(all(sorts));
+        if (runs == 1) {
+            return;
+        }
+
+        // 輸出第 s 份為 [outStart[s], outStart[s + 1])，cuts[s][r] 為該份在第 r 段的起點
+        int parts = Math.max(1, Math.min(parallelism, n / SEQUENTIAL_THRESHOLD));
+        int[][] cuts = new int[parts + 1][];
+        int[] outStart = new int[parts + 1];
+        for (int s = 0; s <= parts; s++) {
+            outStart[s] = (int) ((long) n * s / parts);
+        }
+        List<RecursiveAction> selects = new ArrayList<>(parts + 1);
+        for (int s = 0; s <= parts; s++) {
+            int part = s;
+            selects.add(action(() -> cuts[part] = split(arr, runStart, outStart[part])));
+        }
+        pool.invoke(all(selects));
+
+        int[] buffer = new int[n];
+        List<RecursiveAction> merges = new ArrayList<>(parts);
+        List<RecursiveAction> copies = new ArrayList<>(parts);
+        for (int s = 0; s < parts; s++) {
+            int[] lo = cuts[s], hi = cuts[s + 1];
+            int from = outStart[s], to = outStart[s + 1];
+            merges.add(action(() -> merge(arr, lo, hi, buffer, from)));
+            copies.add(action(() -> System.arraycopy(buffer, from, arr, from, to - from)));
+        }
+        pool.invoke(all(merges));
+        pool.invoke(all(copies));
+    }
+
+    // 找出各段的切點，使切點左側共 rank 個元素且都不大於右側元素
+    // 先二分搜尋最小的 v 使「<= v 的元素數」>= rank，再把等於 v 的元素依段序補足
+    static int[] split(int[] arr, int[] runStart, int rank) {
+        int runs = runStart.length - 1;
+        int[] cut = new int[runs];
+        int n = runStart[runs];
+        if (rank == 0) {
+            System.arraycopy(runStart, 0, cut, 0, runs);
+            return cut;
+        }
+        if (rank == n) {
+            System.arraycopy(runStart, 1, cut, 0, runs);
+            return cut;
+        }
+        long lo = Integer.MIN_VALUE, hi = Integer.MAX_VALUE;
+        while (lo < hi) {
+            long mid = (lo + hi) >> 1;
+            long count = 0;
+            for (int r = 0; r < runs; r++) {
+                count += upperBound(arr, runStart[r], runStart[r + 1], (int) mid) - runStart[r];
+            }
+            if (count >= rank) hi = mid;
+            else lo = mid + 1;
+        }
+        int v = (int) lo;
+        int need = rank;
+        for (int r = 0; r < runs; r++) {
+            cut[r] = lowerBound(arr, runStart[r], runStart[r + 1], v);
+            need -= cut[r] - runStart[r];
+        }
+        for (int r = 0; r < runs && need > 0; r++) {
+            int equal = upperBound(arr, cut[r], runStart[r + 1], v) - cut[r];
+            int take = Math.min(need, equal);
+            cut[r] += take;
+            need -= take;
+        }
+        return cut;
+    }
+
+    // 第一個 >= value 的位置
+    private static int lowerBound(int[] arr, int from, int to, int value) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (arr[mid] < value) from = mid + 1;
+            else to = mid;
+        }
+        return from;
+    }
+
+    // 第一個 > value 的位置
+    private static int upperBound(int[] arr, int from, int to, int value) {
+        while (from < to) {
+            int mid = (from + to) >>> 1;
+            if (arr[mid] <= value) from = mid + 1;
+            else to = mid;
+        }
+        return from;
+    }
+
+    // k 路合併各段的 [lo[r], hi[r]) 到 out[at...]；堆中存段編號，以段首值比較，取出後以 replaceTop 式下沉
+    static void merge(int[] arr, int[] lo, int[] hi, int[] out, int at) {
+        int runs = lo.length;
+        int[] pos = lo.clone();
+        int[] heap = new int[runs];
+        int size = 0;
+        for (int r = 0; r < runs; r++) {
+            if (pos[r] < hi[r]) {
+                heap[size++] = r;
+            }
+        }
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(arr, pos, heap, i, heap[i], size);
+        }
+        while (size > 1) {
+            int r = heap[0];
+            out[at++] = arr[pos[r]++];
+            if (pos[r] == hi[r]) {
+                r = heap[--size];
+            }
+            siftDown(arr, pos, heap, 0, r, size);
+        }
+        if (size == 1) {
+            int r = heap[0];
+            int length = hi[r] - pos[r];
+            System.arraycopy(arr, pos[r], out, at, length);
+        }
+    }
+
+    private static void siftDown(int[] arr, int[] pos, int[] heap, int i, int run, int size) {
+        int key = arr[pos[run]];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int c = heap[child];
+            if (child + 1 < size && arr[pos[heap[child + 1]]] < arr[pos[c]]) {
+                c = heap[++child];
+            }
+            if (arr[pos[c]] >= key) break;
+            heap[i] = c;
+            i = child;
+        }
+        heap[i] = run;
+    }
+
+    private static RecursiveAction action(Runnable body) {
+        return new RecursiveAction() {
+            @Override
+            protected void compute() {
+                body.run();
+            }
+        };
+    }
+
+    private static RecursiveAction all(List<RecursiveAction> actions) {
+        return action(() -> RecursiveAction.invokeAll(actions));
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== 平行堆排序 ===");
+        Random random = new Random(42);
+        int n = 5_000_000;
+        int[] randomData = new int[n];
+        int[] duplicates = new int[n];
+        int[] sortedData = new int[n];
+        int[] reversed = new int[n];
+        for (int i = 0; i < n; i++) {
+            randomData[i] = random.nextInt();
+            duplicates[i] = random.nextInt(16);
+            sortedData[i] = i;
+            reversed[i] = n - i;
+        }
+        String[] names = {"亂數", "大量重複", "已排序", "反向"};
+        int[][] inputs = {randomData, duplicates, sortedData, reversed};
+        for (int t = 0; t < inputs.length; t++) {
+            int[] expected = inputs[t].clone();
+            Arrays.sort(expected);
+            int[] actual = inputs[t].clone();
+            sort(actual);
+            System.out.println(names[t] + " 結果與 Arrays.sort 一致: " + Arrays.equals(expected, actual));
+        }
+        // 邊界：各種大小的小陣列，共用一個 3 個 worker 的 pool
+        boolean small = true;
+        ForkJoinPool pool = new ForkJoinPool(3);
+        for (int size = 0; size < 50_000; size += 997) {
+            int[] a = random.ints(size, -5, 5).toArray();
+            int[] b = a.clone();
+            Arrays.sort(a);
+            sort(b, pool);
+            small &= Arrays.equals(a, b);
+        }
+        pool.shutdown();
+        System.out.println("各種大小與 3 個 worker 的結果一致: " + small);
+
+        System.out.println("\n" + n + " 個亂數，" + ForkJoinPool.commonPool().getParallelism() + " 個 worker:");
+        for (int round = 0; round < 3; round++) {
+            int[] a = randomData.clone(), b = randomData.clone(), c = randomData.clone(), d = randomData.clone();
+            long t0 = System.nanoTime();
+            HeapSort.sort(a);
+            long t1 = System.nanoTime();
+            sort(b);
+            long t2 = System.nanoTime();
+            Arrays.sort(c);
+            long t3 = System.nanoTime();
+            Arrays.parallelSort(d);
+            long t4 = System.nanoTime();
+            System.out.printf("HeapSort.sort %d ms, ParallelHeapSort %d ms, Arrays.sort %d ms, Arrays.parallelSort %d ms%n",
+                    (t1 - t0) / 1_000_000, (t2 - t1) / 1_000_000, (t3 - t2) / 1_000_000, (t4 - t3) / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Time Complexity: O((n log k) / P + (n / L) k log k)，P = 執行緒數，L = 葉節點區段長度
+ * 說明：平行 Top-K / 第 k 大。以 fork-join 把輸入對半切到每段約 n / (8P) 個（至少 LEAF_SIZE），
+ *       每段以大小為 k 的 IntMinHeap 掃描（同 KthLargest.findKthLargest 的 replaceTop 做法），
+ *       回傳途中把較小的堆倒進較大的堆，兩個 Top-K 合併後仍是 Top-K。
+ *       已滿的堆的堆頂（該段第 k 大）不大於全體第 k 大，各段每 BLOCK 個元素交換一次目前最高的堆頂，
+ *       不大於它的值直接略過；後開始的段落因此不必從頭累積門檻。
+ *       掃描階段各執行緒只讀共用陣列、寫自己的堆，共用的只有這個偶爾讀寫的門檻，加速比接近執行緒數
+ * 空間複雜度：O(k * 同時存在的堆數) ≤ O(k log(n / L) * P)
+ */
+public final class ParallelTopK {
+    static final int LEAF_SIZE = 1 << 16;
+    static final int BLOCK = 4096; // 每掃描這麼多個元素才讀寫一次共用門檻
+
+    private ParallelTopK() {
+    }
+
+    // nums 中最大的 k 個，遞減排列；不修改 nums
+    public static int[] topK(int[] nums, int k) {
+        return topK(nums, k, ForkJoinPool.commonPool());
+    }
+
+    public static int[] topK(int[] nums, int k, ForkJoinPool pool) {
+        IntMinHeap heap = scan(nums, k, pool);
+        int[] result = new int[heap.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = heap.extractMin();
+        }
+        return result;
+    }
+
+    // 第 k 大的值（1 <= k <= nums.length）
+    public static int kthLargest(int[] nums, int k) {
+        return kthLargest(nums, k, ForkJoinPool.commonPool());
+    }
+
+    public static int kthLargest(int[] nums, int k, ForkJoinPool pool) {
+        return scan(nums, k, pool).peek();
+    }
+
+    private static IntMinHeap scan(int[] nums, int k, ForkJoinPool pool) {
+        if (k <= 0 || k > nums.length) {
+            throw new IllegalArgumentException("k 必須介於 1 與 " + nums.length + " 之間: " + k);
+        }
+        // 每個 worker 約 8 段，讓先做完的 worker 能竊取剩下的段落
+        int leaf = Math.max(LEAF_SIZE, nums.length / (pool.getParallelism() * 8));
+        AtomicInteger bound = new AtomicInteger(Integer.MIN_VALUE);
+        return pool.invoke(new Scan(nums, 0, nums.length, k, leaf, bound));
+    }
+
+    private static final class Scan extends RecursiveTask<IntMinHeap> {
+        private static final long serialVersionUID = 1L;
+        private final int[] nums;
+        private final int from, to, k, leaf;
+        private final AtomicInteger bound; // 某個已滿的堆的堆頂，只增不減
+
+        Scan(int[] nums, int from, int to, int k, int leaf, AtomicInteger bound) {
+            this.nums = nums;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+            this.leaf = leaf;
+            this.bound = bound;
+        }
+
+        @Override
+        protected IntMinHeap compute() {
+            if (to - from <= leaf) {
+                return scanRange();
+            }
+            int mid = (from + to) >>> 1;
+            Scan left = new Scan(nums, from, mid, k, leaf, bound);
+            left.fork();
+            IntMinHeap right = new Scan(nums, mid, to, k, leaf, bound).compute();
+            IntMinHeap leftHeap = left.join();
+            IntMinHeap into = leftHeap.size() >= right.size() ? leftHeap : right;
+            IntMinHeap drain = into == leftHeap ? right : leftHeap;
+            while (!drain.isEmpty()) {
+                offer(into, drain.extractMin());
+            }
+            return into;
+        }
+
+        // 門檻 top = max(自己的堆頂, 共用門檻) 暫存在區域變數，只有換入時才讀寫堆
+        // 段落不足 k 個時堆不滿，不能用來略過任何值，也不發布門檻
+        private IntMinHeap scanRange() {
+            int[] a = nums;
+            int end = to;
+            int filled = Math.min(k, end - from);
+            IntMinHeap heap = new IntMinHeap(filled);
+            heap.insertAll(Arrays.copyOfRange(a, from, from + filled));
+            if (filled < k) {
+                return heap;
+            }
+            int floor = publish(heap.peek());
+            int top = Math.max(heap.peek(), floor);
+            for (int i = from + filled; i < end; ) {
+                int blockEnd = Math.min(end, i + BLOCK);
+                for (; i < blockEnd; i++) {
+                    int v = a[i];
+                    if (v > top) {
+                        heap.replaceTop(v);
+                        top = Math.max(heap.peek(), floor);
+                    }
+                }
+                floor = publish(heap.peek());
+                top = Math.max(heap.peek(), floor);
+            }
+            return heap;
+        }
+
+        // 以自己的堆頂提高共用門檻，回傳目前的共用門檻
+        private int publish(int own) {
+            int shared = bound.get();
+            return own > shared ? bound.accumulateAndGet(own, Math::max) : shared;
+        }
+
+        private void offer(IntMinHeap heap, int value) {
+            if (heap.size() < k) {
+                heap.insert(value);
+            } else if (value > heap.peek()) {
+                heap.replaceTop(value);
+            }
+        }
+    }
+
+    private static int[] reversed(int[] a) {
+        int[] r = new int[a.length];
+        for (int i = 0; i < a.length; i++) {
+            r[i] = a[a.length - 1 - i];
+        }
+        return r;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== 平行 Top-K ===");
+        Random random = new Random(42);
+        int n = 20_000_000;
+        int[] nums = new int[n];
+        for (int i = 0; i < n; i++) {
+            nums[i] = random.nextInt();
+        }
+        int[] sorted = nums.clone();
+        Arrays.sort(sorted);
+
+        boolean same = true;
+        ForkJoinPool pool = new ForkJoinPool(4);
+        for (int k : new int[]{1, 10, 1000, 100_000}) {
+            int[] top = topK(nums, k, pool);
+            for (int i = 0; i < k; i++) {
+                same &= top[i] == sorted[n - 1 - i];
+            }
+            same &= kthLargest(nums, k) == sorted[n - k];
+        }
+        // 大量重複值：門檻以嚴格大於比較，略過的重複值都能由已保留的同值補足
+        int[] duplicates = random.ints(1_000_000, 0, 8).toArray();
+        int[] sortedDuplicates = duplicates.clone();
+        Arrays.sort(sortedDuplicates);
+        for (int k : new int[]{1, 1000, 200_000, 1_000_000}) {
+            int[] top = topK(duplicates, k, pool);
+            same &= top.length == k
+                    && Arrays.equals(top, reversed(Arrays.copyOfRange(sortedDuplicates, 1_000_000 - k, 1_000_000)));
+        }
+        pool.shutdown();
+        int[] small = {3, 2, 3, 1, 2, 4, 5, 5, 6};
+        same &= Arrays.equals(topK(small, 4), new int[]{6, 5, 5, 4});
+        System.out.println("Top-K 與排序結果一致: " + same);
+
+        int k = 1000;
+        for (int round = 0; round < 5; round++) {
+            long t0 = System.nanoTime();
+            int sequential = KthLargest.findKthLargest(nums, k, 2);
+            long t1 = System.nanoTime();
+            int parallel = kthLargest(nums, k);
+            long t2 = System.nanoTime();
+            System.out.printf("n=%d, k=%d: 單執行緒 %d ms, 平行 (%d workers) %d ms, 結果相同: %b%n",
+                    n, k, (t1 - t0) / 1_000_000, ForkJoinPool.commonPool().getParallelism(),
+                    (t2 - t1) / 1_000_000, sequential == parallel);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * 優先級執行器的吞吐量與排程延遲測試
+ * 說明：比較 PriorityWorkStealingExecutor 與「ThreadPoolExecutor + 單一 PriorityBlockingQueue」（全域一把鎖）
+ *       1. 滿載：多個提交者盡快提交所有任務，量測到全部執行完的吞吐量
+ *       2. 定速：提交者以固定速率提交（預設 1M tasks/s），延遲 = 開始執行時間 - 預定提交時間，
+ *          以預定時間計算可避免提交端落後時低估延遲；回報 p50 / p99 / p99.9
+ * 用法：java PriorityExecutorBenchmark [worker數] [任務數] [每秒任務數] [提交者數]
+ */
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public class PriorityExecutorBenchmark {
+
+    // 基準對照：帶優先級的 Runnable，放進 PriorityBlockingQueue
+    static class PrioritizedRunnable implements Runnable {
+        final int priority;
+        final long sequence;
+        final Runnable action;
+
+        PrioritizedRunnable(int priority, long sequence, Runnable action) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.action = action;
+        }
+
+        @Override
+        public void run() {
+            action.run();
+        }
+    }
+
+    // 兩種執行器的共同介面
+    interface Target {
+        void submit(int priority, Runnable action);
+        void finish() throws InterruptedException;
+    }
+
+    static Target workStealing(int workers) {
+        PriorityWorkStealingExecutor executor = new PriorityWorkStealingExecutor(workers);
+        return new Target() {
+            public void submit(int priority, Runnable action) {
+                executor.submit("bench", priority, action);
+            }
+            public void finish() throws InterruptedException {
+                executor.shutdown();
+                executor.awaitTermination(10, TimeUnit.MINUTES);
+            }
+        };
+    }
+
+    static Target globalQueue(int workers) {
+        Comparator<Runnable> order = (a, b) -> {
+            PrioritizedRunnable x = (PrioritizedRunnable) a, y = (PrioritizedRunnable) b;
+            if (x.priority != y.priority) {
+                return Integer.compare(y.priority, x.priority);
+            }
+            return Long.compare(x.sequence, y.sequence);
+        };
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(1024, order));
+        executor.prestartAllCoreThreads();
+        java.util.concurrent.atomic.AtomicLong sequence = new java.util.concurrent.atomic.AtomicLong();
+        return new Target() {
+            public void submit(int priority, Runnable action) {
+                executor.execute(new PrioritizedRunnable(priority, sequence.getAndIncrement(), action));
+            }
+            public void finish() throws InterruptedException {
+                executor.shutdown();
+                executor.awaitTermination(10, TimeUnit.MINUTES);
+            }
+        };
+    }
+
+    public static void main(String[] args) throws Exception {
+        int workers = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int tasks = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+        int rate = args.length > 2 ? Integer.parseInt(args[2]) : 1_000_000;
+        int submitters = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+
+        System.out.println("=== 優先級執行器測試 ===");
+        System.out.println("worker: " + workers + ", 任務數: " + tasks + ", 定速: " + rate + " tasks/s"
+                + ", 提交者: " + submitters + ", 處理器數: " + Runtime.getRuntime().availableProcessors());
+
+        for (int round = 0; round < 2; round++) {
+            boolean report = round == 1; // 第一輪為暖身
+            if (report) {
+                System.out.println();
+            }
+            for (String name : new String[]{"工作竊取", "全域佇列"}) {
+                double throughput = saturated(name, workers, tasks, submitters);
+                long[] latency = paced(name, workers, tasks, rate, submitters);
+                if (report) {
+                    System.out.printf("%s  滿載: %,12.0f tasks/s   定速延遲 p50 %,8d ns  p99 %,10d ns  p99.9 %,10d ns%n",
+                            name, throughput, percentile(latency, 50), percentile(latency, 99),
+                            percentile(latency, 99.9));
+                }
+            }
+        }
+    }
+
+    static Target create(String name, int workers) {
+        return name.equals("工作竊取") ? workStealing(workers) : globalQueue(workers);
+    }
+
+    // 滿載吞吐量：所有提交者同時盡快提交
+    static double saturated(String name, int workers, int tasks, int submitters) throws Exception {
+        Target target = create(name, workers);
+        Runnable noop = () -> { };
+        long start = System.nanoTime();
+        runSubmitters(submitters, tasks, (index, count) -> {
+            for (int i = index; i < tasks; i += count) {
+                target.submit(i % 5, noop);
+            }
+        });
+        target.finish();
+        long elapsed = System.nanoTime() - start;
+        return tasks / (elapsed / 1e9);
+    }
+
+    // 定速提交，回傳每個任務的排程延遲（已排序）
+    static long[] paced(String name, int workers, int tasks, int rate, int submitters) throws Exception {
+        Target target = create(name, workers);
+        long[] latency = new long[tasks];
+        double interval = 1e9 * submitters / rate; // 每個提交者兩次提交的間隔
+        long start = System.nanoTime() + 1_000_000;
+        runSubmitters(submitters, tasks, (index, count) -> {
+            long n = 0;
+            for (int i = index; i < tasks; i += count, n++) {
+                long intended = start + (long) (n * interval);
+                while (System.nanoTime() < intended) {
+                    Thread.onSpinWait();
+                }
+                final int slot = i;
+                target.submit(i % 5, () -> latency[slot] = System.nanoTime() - intended);
+            }
+        });
+        target.finish();
+        Arrays.sort(latency);
+        return latency;
+    }
+
+    interface SubmitLoop {
+        void run(int index, int count) throws Exception;
+    }
+
+    static void runSubmitters(int submitters, int tasks, SubmitLoop loop) throws Exception {
+        Thread[] threads = new Thread[submitters];
+        Exception[] error = new Exception[1];
+        for (int s = 0; s < submitters; s++) {
+            final int index = s;
+            threads[s] = new Thread(() -> {
+                try {
+                    loop.run(index, submitters);
+                } catch (Exception e) {
+                    error[0] = e;
+                }
+            });
+            threads[s].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        if (error[0] != null) {
+            throw error[0];
+        }
+    }
+
+    static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Time Complexity: submit O(log(n/W))，worker 取出 O(log(n/W))，竊取最多檢查 W 個佇列（W = worker 數）
+ * 說明：以 TaskScheduler 的優先級規則（高優先級先、同級先進先出）真正執行 Runnable 的多執行緒執行器。
+ *       每個 worker 有自己的優先佇列（4 叉堆）與鎖，提交的任務輪流分配到各 worker，
+ *       worker 內部提交的子任務放回自己的佇列；自己的佇列空了就從其他 worker 竊取其最高優先級任務，
+ *       因此大量高優先級任務湧入時不會全部卡在同一把全域鎖上
+ * 空間複雜度：O(n + W)
+ * 注意：優先級在單一 worker 內嚴格成立，跨 worker 只是近似（各自取本地最高者）
+ */
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class PriorityWorkStealingExecutor {
+    private static final int SPIN_LIMIT = 64;          // 找不到工作時先讓出 CPU 再重試的次數
+    private static final long PARK_NANOS = 1_000_000;  // 休眠上限，防止錯過喚醒
+
+    private final Worker[] workers;
+    private final AtomicLong sequence = new AtomicLong();      // 同優先級的先進先出依據
+    private final AtomicInteger nextWorker = new AtomicInteger(); // 輪流分配提交的任務
+    private final AtomicInteger nextTaskId = new AtomicInteger(1);
+    private final AtomicLong pending = new AtomicLong();       // 已提交尚未執行完的任務數
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicInteger idleWorkers = new AtomicInteger();
+    private volatile boolean shutdown;
+
+    // worker：本地優先佇列 + 保護它的鎖
+    private final class Worker extends Thread {
+        final DaryHeap<Task> queue = new DaryHeap<>(4, TaskScheduler.TASK_ORDER);
+        final ReentrantLock lock = new ReentrantLock();
+        volatile int queued;     // 佇列長度，讓其他執行緒不必上鎖即可判斷是否值得竊取
+        volatile boolean parked;
+        final int index;
+
+        Worker(int index) {
+            super("priority-worker-" + index);
+            this.index = index;
+            setDaemon(true);
+        }
+
+        boolean isOwnedBy(PriorityWorkStealingExecutor executor) {
+            return PriorityWorkStealingExecutor.this == executor;
+        }
+
+        void push(Task task) {
+            lock.lock();
+            try {
+                queue.offer(task);
+                queued = queue.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Task pollLocal() {
+            if (queued == 0) {
+                return null;
+            }
+            lock.lock();
+            try {
+                Task task = queue.poll();
+                queued = queue.size();
+                return task;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // 被竊取：鎖正被占用就放棄，改試下一個 worker
+        Task tryStealFrom() {
+            if (queued == 0 || !lock.tryLock()) {
+                return null;
+            }
+            try {
+                Task task = queue.poll();
+                queued = queue.size();
+                return task;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Task steal() {
+            for (int i = 1; i < workers.length; i++) {
+                Task task = workers[(index + i) % workers.length].tryStealFrom();
+                if (task != null) {
+                    return task;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void run() {
+            int spins = 0;
+            while (true) {
+                Task task = pollLocal();
+                if (task == null) {
+                    task = steal();
+                }
+                if (task != null) {
+                    runTask(task);
+                    spins = 0;
+                    continue;
+                }
+                if (shutdown && pending.get() == 0) {
+                    return;
+                }
+                if (++spins < SPIN_LIMIT) {
+                    Thread.yield(); // 處理器不足時把 CPU 讓給提交者或其他 worker
+                    continue;
+                }
+                // 先宣告要休眠再檢查一次，與 submit 的「先入列再檢查 parked」配對，不會漏掉喚醒
+                parked = true;
+                idleWorkers.incrementAndGet();
+                if (!hasQueuedTasks() && !shutdown) {
+                    LockSupport.parkNanos(this, PARK_NANOS);
+                }
+                idleWorkers.decrementAndGet();
+                parked = false;
+                spins = 0;
+            }
+        }
+    }
+
+    public PriorityWorkStealingExecutor(int workerCount) {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("worker 數必須大於0: " + workerCount);
+        }
+        workers = new Worker[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            workers[i] = new Worker(i);
+        }
+        for (Worker w : workers) {
+            w.start();
+        }
+    }
+
+    // 提交任務，回傳任務編號
+    // shutdown 後只接受本執行器 worker 提交的子任務（父任務尚未完成，pending 不會歸零）
+    public int submit(String name, int priority, Runnable action) {
+        Thread current = Thread.currentThread();
+        Worker local = current instanceof Worker && ((Worker) current).isOwnedBy(this)
+                ? (Worker) current : null;
+
+        pending.incrementAndGet(); // 先計入，shutdown 後的 worker 才會等它執行完
+        if (shutdown && local == null) {
+            pending.decrementAndGet();
+            throw new RejectedExecutionException("執行器已關閉: " + name);
+        }
+        Task task = new Task(nextTaskId.getAndIncrement(), name, priority,
+                sequence.getAndIncrement(), action);
+
+        // worker 內提交的子任務留在本地，其餘輪流分配
+        Worker target = local != null
+                ? local : workers[(nextWorker.getAndIncrement() & 0x7fffffff) % workers.length];
+        target.push(task);
+
+        if (target.parked) {
+            LockSupport.unpark(target);
+        } else if (idleWorkers.get() > 0) {
+            wakeIdleWorker(); // 讓閒置的 worker 來竊取
+        }
+        return task.id;
+    }
+
+    private void runTask(Task task) {
+        try {
+            if (task.action != null) {
+                task.action.run();
+            }
+            completed.incrementAndGet();
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+        } finally {
+            if (pending.decrementAndGet() == 0 && shutdown) {
+                wakeAll();
+            }
+        }
+    }
+
+    private boolean hasQueuedTasks() {
+        for (Worker w : workers) {
+            if (w.queued > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void wakeIdleWorker() {
+        for (Worker w : workers) {
+            if (w.parked) {
+                LockSupport.unpark(w);
+                return;
+            }
+        }
+    }
+
+    private void wakeAll() {
+        for (Worker w : workers) {
+            LockSupport.unpark(w);
+        }
+    }
+
+    // 不再接受新任務，已提交的任務仍會執行完
+    public void shutdown() {
+        shutdown = true;
+        wakeAll();
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Worker w : workers) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedJoin(w, remaining);
+            if (w.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getCompletedTaskCount() {
+        return completed.get();
+    }
+
+    public long getFailedTaskCount() {
+        return failed.get();
+    }
+
+    public long getPendingTaskCount() {
+        return pending.get();
+    }
+
+    public int getWorkerCount() {
+        return workers.length;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        PriorityWorkStealingExecutor executor = new PriorityWorkStealingExecutor(1);
+
+        System.out.println("=== 優先級工作竊取執行器示範 ===");
+
+        // 單一 worker：先讓它忙著，確認之後提交的任務依優先級與先後順序執行
+        java.util.concurrent.CountDownLatch gate = new java.util.concurrent.CountDownLatch(1);
+        executor.submit("閘門", 10, () -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        String[] names = {"系統備份", "緊急修復", "資料清理", "系統更新", "日常維護", "安全掃描"};
+        int[] priorities = {1, 5, 2, 4, 1, 3};
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            int priority = priorities[i];
+            executor.submit(name, priority, () -> System.out.println("執行任務: " + name + "(優先級:" + priority + ")"));
+        }
+        gate.countDown();
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        // 多個 worker：大量任務與子任務，確認全部執行完成
+        System.out.println("\n4 個 worker 執行 100000 個任務（每個再提交一個子任務）:");
+        PriorityWorkStealingExecutor pool = new PriorityWorkStealingExecutor(4);
+        AtomicLong sum = new AtomicLong();
+        for (int i = 0; i < 100_000; i++) {
+            final int value = i;
+            pool.submit("T" + i, i % 5, () -> {
+                sum.addAndGet(value);
+                pool.submit("child", 0, () -> sum.addAndGet(1));
+            });
+        }
+        pool.shutdown();
+        boolean terminated = pool.awaitTermination(30, TimeUnit.SECONDS);
+        long expected = 100_000L * 99_999 / 2 + 100_000;
+        System.out.println("已結束: " + terminated + ", 完成: " + pool.getCompletedTaskCount()
+                + ", 總和正確: " + (sum.get() == expected));
+
+        // 關閉後提交會被拒絕
+        try {
+            pool.submit("late", 1, () -> { });
+        } catch (RejectedExecutionException e) {
+            System.out.println("關閉後提交: " + e.getMessage());
+        }
+    }
+}
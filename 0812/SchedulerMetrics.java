@@ -0,0 +1,152 @@
+/*
+ * Time Complexity: 各 on* 記錄 O(1)，snapshot O(B + P)，B = 直方圖桶數，P = 出現過的優先級數
+ * 說明：排程器的監控數據，取代熱路徑上的 System.out.println：
+ *       1. 各優先級目前的佇列深度
+ *       2. 入列到出列的等待時間直方圖（LatencyHistogram，無鎖記錄）
+ *       3. 累計入列 / 出列 / 取消數、有界排程器的丟棄 / 拒絕數，以及兩次 snapshot 之間的每秒出列數
+ *       記錄端只用 LongAdder 與 AtomicLongArray，可在排程器的鎖外呼叫；snapshot 由監控端定期輪詢
+ * 空間複雜度：O(B + P)
+ */
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class SchedulerMetrics {
+    // 0..DENSE_PRIORITIES-1 的優先級用陣列，其餘放雜湊表
+    private static final int DENSE_PRIORITIES = 256;
+
+    private final LongAdder[] denseDepth = new LongAdder[DENSE_PRIORITIES];
+    private final ConcurrentHashMap<Integer, LongAdder> sparseDepth = new ConcurrentHashMap<>();
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dequeued = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LatencyHistogram waitNanos = new LatencyHistogram();
+
+    // 上一次 snapshot，用來計算區間吞吐量與區間延遲，由 snapshot() 的鎖保護
+    private Snapshot last;
+
+    public SchedulerMetrics() {
+        for (int i = 0; i < DENSE_PRIORITIES; i++) {
+            denseDepth[i] = new LongAdder();
+        }
+        last = new Snapshot(System.nanoTime(), 0, 0, 0, 0, 0, new TreeMap<>(), waitNanos.snapshot(), null, 0);
+    }
+
+    private LongAdder depthOf(int priority) {
+        if (priority >= 0 && priority < DENSE_PRIORITIES) {
+            return denseDepth[priority];
+        }
+        return sparseDepth.computeIfAbsent(priority, p -> new LongAdder());
+    }
+
+    // 任務進入可執行佇列（延遲任務在到期時才算入列）
+    public void onEnqueue(Task task) {
+        task.enqueuedNanos = System.nanoTime();
+        depthOf(task.priority).increment();
+        enqueued.increment();
+    }
+
+    // 佇列中任務的優先級由 oldPriority 改為 task.priority
+    public void onReprioritize(Task task, int oldPriority) {
+        depthOf(oldPriority).decrement();
+        depthOf(task.priority).increment();
+    }
+
+    // 佇列中的任務被取消
+    public void onCancel(Task task) {
+        depthOf(task.priority).decrement();
+        cancelled.increment();
+    }
+
+    // 佇列已滿，佇列中的任務被擠出（drop-lowest / shed-oldest）
+    public void onDrop(Task task) {
+        depthOf(task.priority).decrement();
+        dropped.increment();
+    }
+
+    // 佇列已滿，新任務未被接受
+    public void onReject() {
+        rejected.increment();
+    }
+
+    // 任務被取出，記錄自入列起的等待時間
+    public void onDequeue(Task task) {
+        waitNanos.record(System.nanoTime() - task.enqueuedNanos);
+        depthOf(task.priority).decrement();
+        dequeued.increment();
+    }
+
+    // 取得目前數據；吞吐量與 recentWait 為自上一次呼叫以來的區間值
+    public synchronized Snapshot snapshot() {
+        long now = System.nanoTime();
+        SortedMap<Integer, Long> depth = new TreeMap<>(Comparator.reverseOrder());
+        for (int i = 0; i < DENSE_PRIORITIES; i++) {
+            long d = denseDepth[i].sum();
+            if (d != 0) {
+                depth.put(i, d);
+            }
+        }
+        for (Map.Entry<Integer, LongAdder> e : sparseDepth.entrySet()) {
+            long d = e.getValue().sum();
+            if (d != 0) {
+                depth.put(e.getKey(), d);
+            }
+        }
+        long deq = dequeued.sum();
+        LatencyHistogram.Snapshot wait = waitNanos.snapshot();
+        double seconds = (now - last.timeNanos) / 1e9;
+        double rate = seconds > 0 ? (deq - last.dequeued) / seconds : 0;
+        Snapshot s = new Snapshot(now, enqueued.sum(), deq, cancelled.sum(), dropped.sum(), rejected.sum(), depth,
+                wait, wait.since(last.waitNanos), rate);
+        last = s;
+        return s;
+    }
+
+    // 某次輪詢的結果；各計數分別讀取，彼此間不是原子快照
+    public static final class Snapshot {
+        public final long timeNanos;
+        public final long enqueued;
+        public final long dequeued;
+        public final long cancelled;
+        public final long dropped;
+        public final long rejected;
+        public final SortedMap<Integer, Long> depthByPriority; // 只含深度非 0 的優先級，高優先級在前
+        public final LatencyHistogram.Snapshot waitNanos;       // 啟動以來的等待時間（奈秒）
+        public final LatencyHistogram.Snapshot recentWaitNanos; // 上次輪詢以來的等待時間（奈秒）
+        public final double tasksPerSecond;                     // 上次輪詢以來的每秒出列數
+
+        Snapshot(long timeNanos, long enqueued, long dequeued, long cancelled, long dropped, long rejected,
+                 SortedMap<Integer, Long> depthByPriority, LatencyHistogram.Snapshot waitNanos,
+                 LatencyHistogram.Snapshot recentWaitNanos, double tasksPerSecond) {
+            this.timeNanos = timeNanos;
+            this.enqueued = enqueued;
+            this.dequeued = dequeued;
+            this.cancelled = cancelled;
+            this.dropped = dropped;
+            this.rejected = rejected;
+            this.depthByPriority = Collections.unmodifiableSortedMap(depthByPriority);
+            this.waitNanos = waitNanos;
+            this.recentWaitNanos = recentWaitNanos != null ? recentWaitNanos : waitNanos;
+            this.tasksPerSecond = tasksPerSecond;
+        }
+
+        public long depth() {
+            long total = 0;
+            for (long d : depthByPriority.values()) {
+                total += d;
+            }
+            return total;
+        }
+
+        @Override
+        public String toString() {
+            String bounded = dropped + rejected > 0 ? ", 丟棄 " + dropped + ", 拒絕 " + rejected : "";
+            return String.format("入列 %d, 出列 %d, 取消 %d%s, 深度 %d %s, %.0f 任務/秒, 等待(ns) p50=%d p99=%d max=%d",
+                    enqueued, dequeued, cancelled, bounded, depth(), depthByPriority, tasksPerSecond,
+                    waitNanos.percentile(50), waitNanos.percentile(99), waitNanos.max());
+        }
+    }
+}
@@ -0,0 +1,246 @@
+import java.util.Arrays;
+import java.util.Random;
+
+/*
+ * Time Complexity: add O(log n)，median O(1)，n = 視窗內樣本數
+ * 說明：串流中位數（例如地震規模資料流），與 MinHeap / MaxHeap 相同的雙堆做法但存放 double：
+ *       較小的一半放 Max Heap（low），較大的一半放 Min Heap（high），low 比 high 多 0 或 1 個，
+ *       中位數只看兩個堆頂。
+ *       滑動視窗：樣本存放在環狀緩衝區的槽位中，堆裡存的是槽位編號並記錄每個槽位在堆中的位置，
+ *       視窗滿時最舊的樣本可在 O(log n) 內從所在的堆移除，不必掃描或延遲刪除
+ * 空間複雜度：O(視窗大小)；不限視窗時 O(n)，需要固定記憶體的分位數請用 KllSketch
+ */
+public class StreamingMedian {
+    private static final int LOW = 0;
+    private static final int HIGH = 1;
+
+    private final int window; // 0 表示不限視窗
+    private double[] values;  // 依槽位存放樣本
+    private int[] pos;        // 槽位在所屬堆中的索引
+    private byte[] side;      // 槽位屬於 LOW 或 HIGH
+    private int next;         // 下一個樣本的槽位（視窗模式為環狀）
+    private long count;       // 累計樣本數
+
+    private final SlotHeap low = new SlotHeap(true);
+    private final SlotHeap high = new SlotHeap(false);
+
+    public StreamingMedian() {
+        this(0);
+    }
+
+    // window: 只保留最近 window 個樣本，0 表示全部保留
+    public StreamingMedian(int window) {
+        if (window < 0) {
+            throw new IllegalArgumentException("視窗大小不可為負: " + window);
+        }
+        this.window = window;
+        int capacity = window > 0 ? window : 16;
+        values = new double[capacity];
+        pos = new int[capacity];
+        side = new byte[capacity];
+    }
+
+    // 以槽位編號為元素的 double 堆，max 為 true 時為 Max Heap；上浮/下沉採空洞法並同步更新 pos
+    private final class SlotHeap {
+        final boolean max;
+        int[] slots = new int[16];
+        int size;
+
+        SlotHeap(boolean max) {
+            this.max = max;
+        }
+
+        // 槽位 a 是否應排在 b 之上
+        boolean above(int a, int b) {
+            return max ? values[a] > values[b] : values[a] < values[b];
+        }
+
+        double top() {
+            return values[slots[0]];
+        }
+
+        private void place(int i, int slot) {
+            slots[i] = slot;
+            pos[slot] = i;
+        }
+
+        private int siftUp(int i, int slot) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                int p = slots[parent];
+                if (!above(slot, p)) break;
+                place(i, p);
+                i = parent;
+            }
+            place(i, slot);
+            return i;
+        }
+
+        private void siftDown(int i, int slot) {
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                int c = slots[child];
+                if (child + 1 < size && above(slots[child + 1], c)) {
+                    c = slots[++child];
+                }
+                if (!above(c, slot)) break;
+                place(i, c);
+                i = child;
+            }
+            place(i, slot);
+        }
+
+        void offer(int slot, int heapSide) {
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size + (size >> 1));
+            }
+            side[slot] = (byte) heapSide;
+            siftUp(size++, slot);
+        }
+
+        int poll() {
+            int top = slots[0];
+            removeAt(0);
+            return top;
+        }
+
+        // 以最後一個元素填補位置 i，再視需要上浮或下沉
+        void removeAt(int i) {
+            int last = slots[--size];
+            if (i < size && siftUp(i, last) == i) {
+                siftDown(i, last);
+            }
+        }
+    }
+
+    // 加入樣本；視窗已滿時先移除最舊的樣本
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            throw new IllegalArgumentException("樣本不可為 NaN");
+        }
+        int slot = next;
+        if (window > 0) {
+            if (count >= window) {
+                (side[slot] == LOW ? low : high).removeAt(pos[slot]);
+                rebalance(); // 先恢復平衡，否則 low 可能被移空而新樣本誤入 low
+            }
+            next = next + 1 == window ? 0 : next + 1;
+        } else {
+            if (slot == values.length) {
+                int capacity = values.length + (values.length >> 1);
+                values = Arrays.copyOf(values, capacity);
+                pos = Arrays.copyOf(pos, capacity);
+                side = Arrays.copyOf(side, capacity);
+            }
+            next++;
+        }
+        values[slot] = value;
+        count++;
+
+        if (low.size == 0 || value <= low.top()) {
+            low.offer(slot, LOW);
+        } else {
+            high.offer(slot, HIGH);
+        }
+        rebalance();
+    }
+
+    // 維持 low.size == high.size 或 high.size + 1
+    private void rebalance() {
+        while (low.size > high.size + 1) {
+            high.offer(low.poll(), HIGH);
+        }
+        while (high.size > low.size) {
+            low.offer(high.poll(), LOW);
+        }
+    }
+
+    // 目前視窗（或全部樣本）的中位數，沒有樣本時回傳 NaN
+    public double median() {
+        if (low.size == 0) {
+            return Double.NaN;
+        }
+        if (low.size > high.size) {
+            return low.top();
+        }
+        return (low.top() + high.top()) / 2.0;
+    }
+
+    // 視窗內的樣本數
+    public int size() {
+        return low.size + high.size;
+    }
+
+    // 累計收到的樣本數（含已移出視窗者）
+    public long count() {
+        return count;
+    }
+
+    public int window() {
+        return window;
+    }
+
+    // 排序後取中位數，作為驗證用的參考答案
+    private static double sortedMedian(double[] data, int from, int to) {
+        double[] copy = Arrays.copyOfRange(data, from, to);
+        Arrays.sort(copy);
+        int n = copy.length;
+        return n % 2 == 1 ? copy[n / 2] : (copy[n / 2 - 1] + copy[n / 2]) / 2.0;
+    }
+
+    // 模擬地震規模：古騰堡-芮克特定律下規模超過 M0 的部分近似指數分布（b 值約 1）
+    static double quakeMagnitude(Random random) {
+        return 2.0 - Math.log10(1 - random.nextDouble());
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== 串流中位數（地震規模資料流）===");
+
+        StreamingMedian all = new StreamingMedian();
+        double[] sample = {4.2, 3.1, 5.6, 2.8, 4.9, 3.3};
+        for (double m : sample) {
+            all.add(m);
+            System.out.printf("收到規模 %.1f，目前中位數 %.2f%n", m, all.median());
+        }
+
+        // 與 LC04 的兩個已排序陣列中位數相同：合併後的中位數
+        double[] a = {1.5, 2.4, 3.8}, b = {2.0, 4.1, 4.4, 6.0};
+        StreamingMedian merged = new StreamingMedian();
+        for (double v : a) merged.add(v);
+        for (double v : b) merged.add(v);
+        System.out.printf("兩份資料流合併的中位數: %.1f%n", merged.median());
+
+        // 滑動視窗：與排序後的視窗比對（小視窗每筆都比對）
+        Random random = new Random(42);
+        int n = 200_000;
+        double[] feed = new double[n];
+        for (int i = 0; i < n; i++) {
+            feed[i] = Math.round(quakeMagnitude(random) * 10) / 10.0; // 一位小數，大量重複值
+        }
+        for (int window : new int[]{1, 2, 3, 10, 1_000}) {
+            StreamingMedian sliding = new StreamingMedian(window);
+            boolean same = true;
+            for (int i = 0; i < n; i++) {
+                sliding.add(feed[i]);
+                if (window <= 10 || i % 997 == 0 || i == n - 1) {
+                    same &= sliding.median() == sortedMedian(feed, Math.max(0, i + 1 - window), i + 1);
+                }
+            }
+            System.out.println("視窗 " + window + " 的中位數與排序結果一致: " + same
+                    + ", 視窗大小: " + sliding.size() + ", 累計: " + sliding.count());
+        }
+
+        // 吞吐量
+        StreamingMedian bench = new StreamingMedian(100_000);
+        long start = System.nanoTime();
+        double checksum = 0;
+        for (int i = 0; i < 5_000_000; i++) {
+            bench.add(quakeMagnitude(random));
+            checksum += bench.median();
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("視窗 100000，500 萬筆 add + median: %.0f 筆/秒 (校驗和 %.1f)%n",
+                5_000_000 / (elapsed / 1e9), checksum);
+    }
+}
@@ -0,0 +1,29 @@
+class Task {
+    int id;
+    String name;
+    int priority;
+    long sequence; // 提交序號，用於相同優先級時的先進先出
+    int queueIndex = -1; // 在所屬 TaskQueue 中的位置（堆的索引或桶的層級），不在佇列中為 -1
+    Task prev, next;     // BucketTaskQueue 同層串列的前後節點
+    Runnable action;     // 實際要執行的工作，可為 null
+    long enqueuedNanos;  // 進入可執行佇列的時間，SchedulerMetrics 用來計算等待時間
+    
+    // sequence 由排程器依提交順序遞增給定，不再使用 System.nanoTime()：
+    // nanoTime 在高提交率或多執行緒下會重複，且每次呼叫都有成本
+    Task(int id, String name, int priority, long sequence) {
+        this(id, name, priority, sequence, null);
+    }
+    
+    Task(int id, String name, int priority, long sequence, Runnable action) {
+        this.id = id;
+        this.name = name;
+        this.priority = priority;
+        this.sequence = sequence;
+        this.action = action;
+    }
+    
+    @Override
+    public String toString() {
+        return name + "(優先級:" + priority + ")";
+    }
+}
@@ -0,0 +1,30 @@
+// TaskScheduler 的底層佇列：依 TaskScheduler.TASK_ORDER 取出（高優先級先、同級序號小者先），
+// 並能定位佇列中的任意任務，以支援調整優先級與取消。一個任務同時只能在一個佇列中
+// 實作：IndexedTaskHeap（任意優先級，O(log n)）、BucketTaskQueue（小範圍整數優先級，O(1)）
+public interface TaskQueue {
+
+    void offer(Task task);
+
+    // 取出下一個任務，佇列為空時回傳 null
+    Task poll();
+
+    // 查看下一個任務，佇列為空時回傳 null
+    Task peek();
+
+    // 任務的優先級改變後呼叫，重新定位
+    void update(Task task);
+
+    // 檢查佇列能否接受此優先級，不能時丟出 IllegalArgumentException；預設接受任意值
+    // 呼叫端應在修改 task.priority 之前先檢查
+    default void checkPriority(int priority) {
+    }
+
+    // 移除佇列中的任務，不在佇列中時回傳 false
+    boolean remove(Task task);
+
+    boolean contains(Task task);
+
+    int size();
+
+    boolean isEmpty();
+}
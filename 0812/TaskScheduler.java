@@ -1,54 +1,171 @@
 import java.util.*;
+import java.util.function.LongSupplier;
 
-class Task {
-    String name;
-    int priority;
-    long timestamp; // 用於相同優先級時的排序
+public class TaskScheduler {
+    // 自定義比較器：優先級高的先執行，相同優先級則先進先出
+    static final Comparator<Task> TASK_ORDER = (a, b) -> {
+        if (a.priority != b.priority) {
+            return Integer.compare(b.priority, a.priority); // 高優先級在前
+        }
+        return Long.compare(a.sequence, b.sequence); // 先提交的在前
+    };
+    
+    // 可定位的佇列 + 依任務編號查找，調整優先級與取消不必掃描整個佇列
+    private TaskQueue taskQueue;
+    private Map<Integer, Task> pendingTasks = new HashMap<>();
+    private int nextTaskId = 1;
+    private long nextSequence = 1; // 進入佇列的順序
+    
+    // 延遲任務先放在時間輪（1 tick = 1 ms），到期才進入優先佇列
+    private LongSupplier clockMillis;
+    private TimingWheel<Task> delayedTasks;
+    private Map<Integer, TimingWheel.Timeout<Task>> delayedTimers = new HashMap<>();
     
-    Task(String name, int priority) {
-        this.name = name;
-        this.priority = priority;
-        this.timestamp = System.nanoTime();
+    // 佇列深度、等待時間與吞吐量；逐筆的主控台訊息預設關閉，只在 verbose 時輸出
+    private final SchedulerMetrics metrics = new SchedulerMetrics();
+    private boolean verbose = false;
+    
+    public TaskScheduler() {
+        this(2);
     }
     
-    @Override
-    public String toString() {
-        return name + "(優先級:" + priority + ")";
+    // arity: 底層堆的叉數（2 的次方），任務很多時 4 或 8 叉可減少快取未命中
+    public TaskScheduler(int arity) {
+        this(new IndexedTaskHeap(arity, TASK_ORDER));
     }
-}
-
-public class TaskScheduler {
-    private PriorityQueue<Task> taskQueue;
     
-    public TaskScheduler() {
-        // 自定義比較器：優先級高的先執行，相同優先級則先進先出
-        taskQueue = new PriorityQueue<>((a, b) -> {
-            if (a.priority != b.priority) {
-                return Integer.compare(b.priority, a.priority); // 高優先級在前
-            }
-            return Long.compare(a.timestamp, b.timestamp); // 時間早的在前
-        });
+    // 指定底層佇列，例如優先級範圍小時用 new BucketTaskQueue(levels) 取得 O(1) 入列/出列
+    public TaskScheduler(TaskQueue taskQueue) {
+        this(taskQueue, monotonicMillis());
+    }
+    
+    // clockMillis: 延遲任務使用的時鐘（毫秒），測試時可傳入手動推進的時鐘
+    public TaskScheduler(TaskQueue taskQueue, LongSupplier clockMillis) {
+        this.taskQueue = taskQueue;
+        this.clockMillis = clockMillis;
+        this.delayedTasks = new TimingWheel<>(clockMillis.getAsLong());
     }
     
-    public void addTask(String name, int priority) {
-        Task task = new Task(name, priority);
+    private static LongSupplier monotonicMillis() {
+        long start = System.nanoTime();
+        return () -> (System.nanoTime() - start) / 1_000_000;
+    }
+    
+    // 開啟後每次新增、調整、取消、執行都會印出訊息（示範用，會拖慢熱路徑）
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+    
+    public SchedulerMetrics metrics() {
+        return metrics;
+    }
+    
+    // 回傳任務編號，供 changePriority / cancel 使用
+    public int addTask(String name, int priority) {
+        return addTask(name, priority, null);
+    }
+    
+    // 附帶工作內容的任務，executeNextTask 取出時會執行
+    public int addTask(String name, int priority, Runnable action) {
+        Task task = new Task(nextTaskId++, name, priority, nextSequence++, action);
         taskQueue.offer(task);
-        System.out.println("新增任務: " + task + 
-                         " (當前佇列大小: " + taskQueue.size() + ")");
+        metrics.onEnqueue(task);
+        pendingTasks.put(task.id, task);
+        if (verbose) {
+            System.out.println("新增任務: " + task + 
+                             " (當前佇列大小: " + taskQueue.size() + ")");
+        }
+        return task.id;
+    }
+    
+    // 延遲 delayMillis 毫秒後才可執行的任務，回傳任務編號（可用 changePriority / cancel）
+    // 時間複雜度: O(1)；同優先級的先後以到期進入佇列的順序為準
+    public int addDelayedTask(String name, int priority, long delayMillis, Runnable action) {
+        taskQueue.checkPriority(priority); // 到期入列時才檢查就太晚了
+        Task task = new Task(nextTaskId++, name, priority, 0, action);
+        long deadline = clockMillis.getAsLong() + Math.max(0, delayMillis);
+        delayedTimers.put(task.id, delayedTasks.schedule(task, deadline));
+        pendingTasks.put(task.id, task);
+        if (verbose) {
+            System.out.println("排程延遲任務: " + task + " (" + delayMillis + " ms 後)");
+        }
+        return task.id;
+    }
+    
+    // 把已到期的延遲任務移入優先佇列，回傳移入的數量
+    public int promoteDueTasks() {
+        return delayedTasks.advanceTo(clockMillis.getAsLong(), task -> {
+            delayedTimers.remove(task.id);
+            task.sequence = nextSequence++;
+            taskQueue.offer(task);
+            metrics.onEnqueue(task);
+        });
+    }
+    
+    // 調整待執行任務的優先級，保留原本的先後順序作為同優先級時的依據
+    // 時間複雜度: 堆 O(log n)，桶佇列見 BucketTaskQueue.update
+    public boolean changePriority(int taskId, int newPriority) {
+        Task task = pendingTasks.get(taskId);
+        if (task == null) {
+            return false;
+        }
+        taskQueue.checkPriority(newPriority); // 先檢查再修改，失敗時任務維持原優先級
+        int oldPriority = task.priority;
+        task.priority = newPriority;
+        if (taskQueue.contains(task)) { // 尚未到期的延遲任務到期時才入列
+            taskQueue.update(task);
+            metrics.onReprioritize(task, oldPriority);
+        }
+        if (verbose) {
+            System.out.println("調整優先級: " + task.name + " " + oldPriority + " -> " + newPriority);
+        }
+        return true;
+    }
+    
+    // 取消待執行任務
+    // 時間複雜度: 堆 O(log n)，桶佇列與尚未到期的延遲任務 O(1)
+    public boolean cancel(int taskId) {
+        Task task = pendingTasks.remove(taskId);
+        if (task == null) {
+            return false;
+        }
+        TimingWheel.Timeout<Task> timer = delayedTimers.remove(taskId);
+        if (timer != null) {
+            delayedTasks.cancel(timer);
+        } else {
+            taskQueue.remove(task);
+            metrics.onCancel(task);
+        }
+        if (verbose) {
+            System.out.println("取消任務: " + task + 
+                             " (剩餘任務: " + taskQueue.size() + ")");
+        }
+        return true;
     }
     
     public Task executeNextTask() {
+        promoteDueTasks();
         if (taskQueue.isEmpty()) {
-            System.out.println("沒有待執行的任務");
+            if (verbose) {
+                System.out.println("沒有待執行的任務");
+            }
             return null;
         }
         Task task = taskQueue.poll();
-        System.out.println("執行任務: " + task + 
-                         " (剩餘任務: " + taskQueue.size() + ")");
+        metrics.onDequeue(task);
+        pendingTasks.remove(task.id);
+        if (verbose) {
+            System.out.println("執行任務: " + task + 
+                             " (剩餘任務: " + taskQueue.size() + ")");
+        }
+        if (task.action != null) {
+            task.action.run();
+        }
         return task;
     }
     
     public Task peekNextTask() {
+        promoteDueTasks();
         if (taskQueue.isEmpty()) {
             return null;
         }
@@ -62,35 +179,75 @@ public class TaskScheduler {
             System.out.println("下一個任務: " + peekNextTask());
             System.out.println("待執行任務總數: " + taskQueue.size());
         }
+        if (delayedTasks.size() > 0) {
+            System.out.println("尚未到期的延遲任務: " + delayedTasks.size());
+        }
     }
     
     public static void main(String[] args) {
-        TaskScheduler scheduler = new TaskScheduler();
+        TaskScheduler scheduler = new TaskScheduler(4);
+        scheduler.setVerbose(true);
         
         System.out.println("=== 任務調度系統示範 ===");
         
         // 新增不同優先級的任務
-        scheduler.addTask("系統備份", 1);
-        scheduler.addTask("緊急修復", 5);
+        int backup = scheduler.addTask("系統備份", 1);
+        scheduler.addTask("緊急修復", 5, () -> System.out.println("  -> 套用修補程式"));
         scheduler.addTask("資料清理", 2);
         scheduler.addTask("系統更新", 4);
-        scheduler.addTask("日常維護", 1);
+        int maintenance = scheduler.addTask("日常維護", 1);
         scheduler.addTask("安全掃描", 3);
         
         System.out.println("\n當前狀態:");
         scheduler.showPendingTasks();
         
+        System.out.println("\n調整與取消:");
+        scheduler.changePriority(backup, 6);
+        scheduler.cancel(maintenance);
+        System.out.println("再次取消: " + scheduler.cancel(maintenance));
+        scheduler.showPendingTasks();
+        
         System.out.println("\n開始執行任務:");
         while (!scheduler.taskQueue.isEmpty()) {
             scheduler.executeNextTask();
-            // 模擬任務執行時間
-            try {
-                Thread.sleep(10); // 確保 timestamp 不同
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
         }
         
         System.out.println("\n所有任務執行完成！");
+        System.out.println("監控數據: " + scheduler.metrics().snapshot());
+        
+        // 延遲任務：以手動時鐘示範到期後才進入優先佇列
+        System.out.println("\n=== 延遲任務示範 ===");
+        long[] now = {0};
+        TaskScheduler delayed = new TaskScheduler(new IndexedTaskHeap(2, TASK_ORDER), () -> now[0]);
+        delayed.setVerbose(true);
+        delayed.addDelayedTask("重試連線", 3, 50, null);
+        int timeout = delayed.addDelayedTask("逾時檢查", 5, 200, null);
+        delayed.addDelayedTask("每小時報表", 1, 3_600_000, null);
+        delayed.addTask("立即任務", 2);
+        delayed.cancel(timeout);
+        for (long t : new long[]{0, 60, 3_600_000}) {
+            now[0] = t;
+            System.out.println("時間 " + t + " ms:");
+            while (delayed.peekNextTask() != null) {
+                delayed.executeNextTask();
+            }
+        }
+        
+        // 關閉逐筆輸出，改由輪詢監控數據觀察排程器
+        System.out.println("\n=== 監控數據示範（不輸出逐筆訊息）===");
+        TaskScheduler quiet = new TaskScheduler(4);
+        Random random = new Random(42);
+        for (int round = 1; round <= 3; round++) {
+            for (int i = 0; i < 200_000; i++) {
+                quiet.addTask("job", random.nextInt(5));
+            }
+            for (int i = 0; i < 150_000; i++) {
+                quiet.executeNextTask();
+            }
+            SchedulerMetrics.Snapshot s = quiet.metrics().snapshot();
+            System.out.printf("第 %d 輪: 深度 %s, %.0f 任務/秒, 本輪等待(ns) %s%n",
+                    round, s.depthByPriority, s.tasksPerSecond, s.recentWaitNanos);
+        }
+        System.out.println("累計: " + quiet.metrics().snapshot());
     }
 }
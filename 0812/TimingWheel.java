@@ -0,0 +1,245 @@
+import java.util.function.Consumer;
+
+/*
+ * Time Complexity: schedule / cancel O(1)，advanceTo 為 O(有事件的 tick 數 × LEVELS + 到期與下放的計時器數)
+ * 說明：階層式時間輪。時間以整數 tick 表示，共 LEVELS 層、每層 64 格：
+ *       第 k 層每格涵蓋 64^k 個 tick，計時器依「距離現在多遠」放到能容納它的最低層，
+ *       低層轉完一圈時把上一層對應格子的計時器重新分配到較低層（cascade），最後都在第 0 層到期。
+ *       每格是雙向串列，排程與取消只需串接 / 拆除一個節點，不必像堆一樣 O(log n) 調整；
+ *       每層以一個 long 記錄哪些格子非空，推進時直接跳到下一個有事件的 tick
+ * 空間複雜度：O(n + LEVELS * 64)
+ * 範圍：6 層共 64^6 = 2^36 個 tick（以 1 ms 為 tick 約 2.2 年），更遠的計時器先放在最高層，轉到時再重新分配
+ */
+public class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+    private static final long RANGE = 1L << (SLOT_BITS * LEVELS);
+
+    // 計時器：也是所在格子串列的節點
+    public static final class Timeout<T> {
+        final T payload;
+        final long deadline;
+        Timeout<T> prev, next;
+        int level = -1; // 不在時間輪中為 -1
+        int slot;
+
+        Timeout(T payload, long deadline) {
+            this.payload = payload;
+            this.deadline = deadline;
+        }
+
+        public T payload() { return payload; }
+
+        public long deadline() { return deadline; }
+
+        public boolean isPending() { return level >= 0; }
+    }
+
+    @SuppressWarnings("unchecked")
+    private final Timeout<T>[][] heads = (Timeout<T>[][]) new Timeout<?>[LEVELS][SLOTS];
+    private final long[] occupied = new long[LEVELS]; // 第 k 層第 j 格非空時 bit j 為 1
+    private long currentTick; // 下一個尚未處理的 tick
+    private int size;
+
+    public TimingWheel(long startTick) {
+        this.currentTick = startTick;
+    }
+
+    // 排程在 deadline tick 到期；已過期的會在下一次 advanceTo 時到期
+    public Timeout<T> schedule(T payload, long deadline) {
+        Timeout<T> timeout = new Timeout<>(payload, deadline);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    public boolean cancel(Timeout<T> timeout) {
+        if (!timeout.isPending()) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    // 依與 currentTick 的距離選層：距離 < 64 放第 0 層，< 64^2 放第 1 層 ...
+    private void place(Timeout<T> timeout) {
+        long target = Math.max(timeout.deadline, currentTick);
+        long delta = target - currentTick;
+        int level;
+        int slot;
+        if (delta >= RANGE) {
+            // 超出範圍：放在最高層最後才會轉到的格子，到時再重新分配
+            level = LEVELS - 1;
+            slot = (int) ((currentTick >>> (SLOT_BITS * level)) - 1) & MASK;
+        } else {
+            level = delta < SLOTS ? 0 : (63 - Long.numberOfLeadingZeros(delta)) / SLOT_BITS;
+            slot = (int) (target >>> (SLOT_BITS * level)) & MASK;
+        }
+        Timeout<T> head = heads[level][slot];
+        timeout.prev = null;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        heads[level][slot] = timeout;
+        occupied[level] |= 1L << slot;
+        timeout.level = level;
+        timeout.slot = slot;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev == null) {
+            heads[timeout.level][timeout.slot] = timeout.next;
+            if (timeout.next == null) {
+                occupied[timeout.level] &= ~(1L << timeout.slot);
+            }
+        } else {
+            timeout.prev.next = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.level = -1;
+    }
+
+    // 取下整格串列（節點仍保留 next 供走訪）
+    private Timeout<T> detach(int level, int slot) {
+        Timeout<T> list = heads[level][slot];
+        heads[level][slot] = null;
+        occupied[level] &= ~(1L << slot);
+        return list;
+    }
+
+    // 從 tick（含）起下一個需要處理的 tick：第 0 層非空格子到期的時刻，
+    // 或較高層非空格子被下放的時刻（該層區塊開始時）；全空時回傳 Long.MAX_VALUE
+    private long nextEventTick(long tick) {
+        long best = Long.MAX_VALUE;
+        for (int level = 0; level < LEVELS; level++) {
+            long bits = occupied[level];
+            if (bits == 0) {
+                continue;
+            }
+            int shift = SLOT_BITS * level;
+            long block = tick >>> shift;
+            if ((tick & ((1L << shift) - 1)) != 0) {
+                block++; // 目前區塊已下放過，從下一個區塊算起
+            }
+            int distance = Long.numberOfTrailingZeros(Long.rotateRight(bits, (int) block & MASK));
+            best = Math.min(best, (block + distance) << shift);
+        }
+        return best;
+    }
+
+    // 處理所有 tick <= nowTick：到期的計時器依序交給 onExpire，回傳到期數
+    public int advanceTo(long nowTick, Consumer<? super T> onExpire) {
+        int expired = 0;
+        while (currentTick <= nowTick) {
+            // 跳過沒有到期也沒有下放的 tick
+            long tick = nextEventTick(currentTick);
+            if (tick > nowTick) {
+                currentTick = nowTick + 1;
+                break;
+            }
+            currentTick = tick; // 下放時以此為基準重新分配
+            cascade(tick);
+
+            Timeout<T> t = detach(0, (int) tick & MASK);
+            while (t != null) {
+                Timeout<T> next = t.next;
+                t.prev = null;
+                t.next = null;
+                t.level = -1;
+                if (t.deadline > tick) {
+                    place(t); // 超出範圍而暫放的計時器
+                } else {
+                    size--;
+                    expired++;
+                    onExpire.accept(t.payload);
+                }
+                t = next;
+            }
+            currentTick = tick + 1;
+        }
+        return expired;
+    }
+
+    // tick 的低 6k 位元全為 0 時，第 k 層轉到新的一格：由高層往低層把該格重新分配
+    private void cascade(long tick) {
+        if ((tick & MASK) != 0) {
+            return;
+        }
+        int top = 1;
+        while (top < LEVELS - 1 && ((tick >>> (SLOT_BITS * top)) & MASK) == 0) {
+            top++;
+        }
+        for (int level = top; level >= 1; level--) {
+            Timeout<T> t = detach(level, (int) (tick >>> (SLOT_BITS * level)) & MASK);
+            while (t != null) {
+                Timeout<T> next = t.next;
+                place(t);
+                t = next;
+            }
+        }
+    }
+
+    public long currentTick() {
+        return currentTick;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public static void main(String[] args) {
+        System.out.println("=== 階層式時間輪示範 ===");
+        TimingWheel<String> wheel = new TimingWheel<>(0);
+        wheel.schedule("5 ms 重試", 5);
+        Timeout<String> cancelled = wheel.schedule("100 ms 逾時（將取消）", 100);
+        wheel.schedule("70 ms 重試", 70);
+        wheel.schedule("1 小時清理", 3_600_000);
+        wheel.schedule("已過期", -10);
+        wheel.schedule("超出範圍", RANGE * 3 + 7);
+        wheel.cancel(cancelled);
+
+        for (long now : new long[]{0, 10, 100, 3_599_999, 3_600_000, RANGE * 3 + 6, RANGE * 3 + 7}) {
+            StringBuilder fired = new StringBuilder();
+            wheel.advanceTo(now, name -> fired.append(name).append("; "));
+            System.out.println("時間 " + now + " ms 到期: " + fired + "(剩餘 " + wheel.size() + ")");
+        }
+
+        // 隨機比對：每個計時器都必須在「包含其 deadline 的那次 advanceTo」到期，不早也不晚
+        System.out.println("\n隨機比對:");
+        java.util.Random random = new java.util.Random(42);
+        TimingWheel<Long> check = new TimingWheel<>(1000);
+        java.util.List<Timeout<Long>> timeouts = new java.util.ArrayList<>();
+        long[] window = new long[2]; // (上次推進到的 tick, 本次推進到的 tick]
+        boolean[] ok = {true};
+        int scheduled = 0;
+        int cancelledCount = 0;
+        int fired = 0;
+        long now = 1000;
+        for (int round = 0; round < 20_000 || check.size() > 0; round++) {
+            if (round < 20_000) {
+                for (int i = 0; i < 50; i++) {
+                    long delay = 1 + (random.nextInt(4) == 0 ? random.nextInt(50_000_000) : random.nextInt(5000));
+                    timeouts.add(check.schedule(now + delay, now + delay));
+                    scheduled++;
+                }
+                if (check.cancel(timeouts.get(random.nextInt(timeouts.size())))) {
+                    cancelledCount++;
+                }
+            }
+            window[0] = now;
+            now += round < 20_000 ? random.nextInt(3000) : 1 + random.nextInt(1_000_000);
+            window[1] = now;
+            fired += check.advanceTo(now, d -> ok[0] &= window[0] < d && d <= window[1]);
+        }
+        System.out.println("排程: " + scheduled + ", 取消: " + cancelledCount + ", 到期: " + fired
+                + ", 數量相符: " + (scheduled == cancelledCount + fired) + ", 到期時刻正確: " + ok[0]);
+    }
+}
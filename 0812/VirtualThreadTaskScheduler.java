@@ -0,0 +1,243 @@
+/*
+ * Time Complexity: submit O(log n)，分派 O(log n)
+ * 說明：適合 I/O 密集任務（備份、掃描）的排程模式。任務先進入優先佇列（高優先級先、同級先進先出），
+ *       分派執行緒先取得「執行中名額」再取出當下最高優先級的任務，交給每個任務一條新執行緒執行；
+ *       在取得名額之後才挑任務，晚到的高優先級任務仍能插隊。
+ *       JDK 21 以上使用虛擬執行緒（以反射取得 Executors.newVirtualThreadPerTaskExecutor），
+ *       阻塞中的任務不占作業系統執行緒，可有大量未完成的阻塞任務；
+ *       較舊的 JDK 退回平台執行緒，maxInFlight 同時也是執行緒數上限，需設得較小
+ * 空間複雜度：O(n)
+ */
+
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class VirtualThreadTaskScheduler {
+    private final DaryHeap<Task> queue = new DaryHeap<>(4, TaskScheduler.TASK_ORDER);
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+
+    private final Semaphore permits;
+    private final int maxInFlight;
+    private final ExecutorService executor;
+    private final boolean virtual;
+    private final Thread dispatcher;
+
+    private final AtomicLong sequence = new AtomicLong(); // 同優先級的先進先出依據
+    private final AtomicInteger nextTaskId = new AtomicInteger(1);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile boolean shutdown;
+
+    public VirtualThreadTaskScheduler(int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight 必須大於0: " + maxInFlight);
+        }
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+
+        ExecutorService perTask = newVirtualThreadPerTaskExecutor();
+        this.virtual = perTask != null;
+        this.executor = virtual ? perTask : Executors.newCachedThreadPool();
+
+        dispatcher = new Thread(this::dispatchLoop, "task-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    // JDK 21 以上才有虛擬執行緒；19/20 未開啟 preview 時會丟 UnsupportedOperationException
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // 提交任務，回傳任務編號
+    public int submit(String name, int priority, Runnable action) {
+        Task task = new Task(nextTaskId.getAndIncrement(), name, priority,
+                sequence.getAndIncrement(), action);
+        lock.lock();
+        try {
+            if (shutdown) {
+                throw new RejectedExecutionException("排程器已關閉: " + name);
+            }
+            queue.offer(task);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+        return task.id;
+    }
+
+    // 分派迴圈：先等名額，再取當下最高優先級的任務
+    private void dispatchLoop() {
+        try {
+            while (true) {
+                permits.acquire();
+                Task task = take();
+                if (task == null) {
+                    permits.release();
+                    break; // 已關閉且佇列清空
+                }
+                int running = inFlight.incrementAndGet();
+                peakInFlight.accumulateAndGet(running, Math::max);
+                executor.execute(() -> run(task));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdown(); // 已分派的任務仍會執行完
+        }
+    }
+
+    private Task take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (queue.isEmpty()) {
+                if (shutdown) {
+                    return null;
+                }
+                notEmpty.await();
+            }
+            return queue.poll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void run(Task task) {
+        try {
+            if (task.action != null) {
+                task.action.run();
+            }
+            completed.incrementAndGet();
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+        } finally {
+            inFlight.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    // 不再接受新任務，佇列中的任務仍會分派並執行完
+    public void shutdown() {
+        lock.lock();
+        try {
+            shutdown = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        TimeUnit.NANOSECONDS.timedJoin(dispatcher, unit.toNanos(timeout));
+        if (dispatcher.isAlive()) {
+            return false;
+        }
+        return executor.awaitTermination(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    public boolean usesVirtualThreads() {
+        return virtual;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getPeakInFlight() {
+        return peakInFlight.get();
+    }
+
+    public int getQueuedTaskCount() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getCompletedTaskCount() {
+        return completed.get();
+    }
+
+    public long getFailedTaskCount() {
+        return failed.get();
+    }
+
+    // 模擬 I/O 等待
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 用法：java VirtualThreadTaskScheduler [阻塞任務數] [maxInFlight] [每個任務阻塞毫秒]
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("=== 虛擬執行緒任務排程示範 ===");
+
+        // 測試1: maxInFlight = 1，先占住唯一名額，之後提交的任務依優先級分派
+        VirtualThreadTaskScheduler scheduler = new VirtualThreadTaskScheduler(1);
+        System.out.println("使用虛擬執行緒: " + scheduler.usesVirtualThreads());
+        CountDownLatch gate = new CountDownLatch(1);
+        scheduler.submit("閘門", 10, () -> {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        String[] names = {"系統備份", "緊急修復", "資料清理", "系統更新", "日常維護", "安全掃描"};
+        int[] priorities = {1, 5, 2, 4, 1, 3};
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            int priority = priorities[i];
+            scheduler.submit(name, priority, () -> {
+                sleep(5);
+                System.out.println("完成任務: " + name + "(優先級:" + priority + ")");
+            });
+        }
+        gate.countDown();
+        scheduler.shutdown();
+        scheduler.awaitTermination(10, TimeUnit.SECONDS);
+
+        // 測試2: 大量阻塞任務；沒有虛擬執行緒時 maxInFlight 即平台執行緒數，預設取較小值
+        int tasks = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        boolean virtual = newVirtualThreadPerTaskExecutor() != null;
+        int maxInFlight = args.length > 1 ? Integer.parseInt(args[1]) : (virtual ? 100_000 : 1_000);
+        long blockMillis = args.length > 2 ? Long.parseLong(args[2]) : 100;
+
+        System.out.println("\n" + tasks + " 個阻塞 " + blockMillis + " ms 的任務, maxInFlight = " + maxInFlight);
+        VirtualThreadTaskScheduler pool = new VirtualThreadTaskScheduler(maxInFlight);
+        long start = System.nanoTime();
+        for (int i = 0; i < tasks; i++) {
+            pool.submit("io-" + i, i % 5, () -> sleep(blockMillis));
+        }
+        pool.shutdown();
+        boolean terminated = pool.awaitTermination(10, TimeUnit.MINUTES);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        long ideal = (long) Math.ceil((double) tasks / maxInFlight) * blockMillis;
+        System.out.println("已結束: " + terminated + ", 完成: " + pool.getCompletedTaskCount()
+                + ", 最高同時執行: " + pool.getPeakInFlight()
+                + ", 耗時: " + elapsedMillis + " ms (理想 " + ideal + " ms)"
+                + ", 吞吐量: " + (long) (tasks / (elapsedMillis / 1000.0)) + " tasks/s");
+    }
+}
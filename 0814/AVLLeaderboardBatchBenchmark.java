@@ -0,0 +1,77 @@
+/*
+ * 排行榜批次更新吞吐量測試
+ * 說明：在 n 個玩家上，比較逐筆 updatePlayerScore 與 applyBatch 處理同一批更新的吞吐量
+ * 用法：java AVLLeaderboardBatchBenchmark [玩家數]
+ */
+
+import java.util.*;
+
+public class AVLLeaderboardBatchBenchmark {
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int[] batchSizes = {10_000, 50_000, 100_000, 250_000, 1_000_000};
+
+        System.out.println("=== 排行榜批次更新吞吐量測試 ===");
+        System.out.println("玩家數: " + n);
+
+        String[] ids = new String[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = "Player" + i;
+        }
+
+        // 第一輪為暖身，只輸出第二輪結果
+        for (int round = 0; round < 2; round++) {
+            for (int batchSize : batchSizes) {
+                runBatch(ids, batchSize, round == 1);
+            }
+        }
+    }
+
+    private static void runBatch(String[] ids, int batchSize, boolean report) {
+        int n = ids.length;
+        Random random = new Random(batchSize);
+        List<AVLLeaderboardSystem.ScoreUpdate> batch = new ArrayList<>(batchSize);
+        String[] batchIds = new String[batchSize];
+        int[] batchScores = new int[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            batchIds[i] = ids[random.nextInt(n)];
+            batchScores[i] = random.nextInt(1_000_000);
+            batch.add(AVLLeaderboardSystem.ScoreUpdate.set(batchIds[i], batchScores[i]));
+        }
+
+        // 逐筆更新
+        AVLLeaderboardSystem single = load(ids);
+        long startTime = System.nanoTime();
+        for (int i = 0; i < batchSize; i++) {
+            single.updatePlayerScore(batchIds[i], batchScores[i]);
+        }
+        long singleTime = System.nanoTime() - startTime;
+
+        // 批次更新
+        AVLLeaderboardSystem batched = load(ids);
+        startTime = System.nanoTime();
+        batched.applyBatch(batch);
+        long batchTime = System.nanoTime() - startTime;
+
+        if (!report) {
+            return;
+        }
+        boolean same = single.getTopKPlayers(100).equals(batched.getTopKPlayers(100));
+        System.out.printf("批次 %,9d 筆: 逐筆 %,12.0f ops/s, applyBatch %,12.0f ops/s (%.2fx), 結果一致: %b, 有效AVL: %b%n",
+                batchSize,
+                batchSize / (singleTime / 1e9),
+                batchSize / (batchTime / 1e9),
+                (double) singleTime / batchTime,
+                same, batched.isValidAVL());
+    }
+
+    // 以固定種子載入 n 個玩家
+    private static AVLLeaderboardSystem load(String[] ids) {
+        AVLLeaderboardSystem leaderboard = new AVLLeaderboardSystem();
+        Random random = new Random(42);
+        for (String id : ids) {
+            leaderboard.addPlayer(id, random.nextInt(1_000_000));
+        }
+        return leaderboard;
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * 排行榜分數更新吞吐量測試
+ * 說明：先載入 n 個玩家，再隨機更新分數與查詢排名，計算每秒操作數
+ * 用法：java AVLLeaderboardBenchmark [玩家數] [更新次數]
+ */
+
+import java.util.*;
+
+public class AVLLeaderboardBenchmark {
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int updates = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        System.out.println("=== 排行榜更新吞吐量測試 ===");
+        System.out.println("玩家數: " + n + ", 更新次數: " + updates);
+
+        AVLLeaderboardSystem leaderboard = new AVLLeaderboardSystem();
+        Random random = new Random(42);
+        String[] ids = new String[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = "Player" + i;
+        }
+
+        // 載入玩家
+        long startTime = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            leaderboard.addPlayer(ids[i], random.nextInt(1_000_000));
+        }
+        long loadTime = System.nanoTime() - startTime;
+        System.out.println("載入耗時: " + loadTime / 1_000_000 + " ms");
+
+        // 暖身，讓 JIT 先編譯熱點
+        int warmup = Math.min(updates, 100_000);
+        for (int i = 0; i < warmup; i++) {
+            leaderboard.updatePlayerScore(ids[random.nextInt(n)], random.nextInt(1_000_000));
+        }
+
+        // 分數更新測試
+        startTime = System.nanoTime();
+        for (int i = 0; i < updates; i++) {
+            leaderboard.updatePlayerScore(ids[random.nextInt(n)], random.nextInt(1_000_000));
+        }
+        long updateTime = System.nanoTime() - startTime;
+
+        // 排名查詢測試，累加結果避免被最佳化掉
+        long checksum = 0;
+        startTime = System.nanoTime();
+        for (int i = 0; i < updates; i++) {
+            checksum += leaderboard.getPlayerRank(ids[random.nextInt(n)]);
+        }
+        long rankTime = System.nanoTime() - startTime;
+
+        System.out.println("更新吞吐量: " + (long) (updates / (updateTime / 1e9)) + " ops/s");
+        System.out.println("排名查詢吞吐量: " + (long) (updates / (rankTime / 1e9)) + " ops/s");
+        System.out.println("總玩家數: " + leaderboard.getTotalPlayers() + ", 校驗和: " + checksum);
+        System.out.println("是否為有效AVL樹: " + leaderboard.isValidAVL());
+    }
+}
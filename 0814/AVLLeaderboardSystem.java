@@ -1,7 +1,8 @@
 /*
  * Time Complexity: O(log n) for add, update, rank, and select operations
  * 說明：AVL樹保持平衡，所有操作都在O(log n)時間內完成
- * 空間複雜度：O(n) 用於存儲n個玩家節點
+ * 空間複雜度：O(n) 用於存儲n個玩家節點，另以 HashMap 索引 playerId -> 分數，
+ * 使更新、刪除與排名查詢能依 (score, id) 排序往下走，而非掃描整棵樹
  */
 
 import java.util.*;
@@ -24,12 +25,40 @@ public class AVLLeaderboardSystem {
         }
     }
     
+    // 批次分數更新：set 為直接設定分數，add 為在目前分數上加減
+    public static class ScoreUpdate {
+        final String playerId;
+        final int value;
+        final boolean delta;
+        
+        private ScoreUpdate(String playerId, int value, boolean delta) {
+            this.playerId = playerId;
+            this.value = value;
+            this.delta = delta;
+        }
+        
+        public static ScoreUpdate set(String playerId, int score) {
+            return new ScoreUpdate(playerId, score, false);
+        }
+        
+        public static ScoreUpdate add(String playerId, int delta) {
+            return new ScoreUpdate(playerId, delta, true);
+        }
+    }
+    
+    // 批次中變動玩家數達到總玩家數的 1/REBUILD_RATIO 時，改用整棵重建
+    private static final int REBUILD_RATIO = 8;
+    
     // 根節點
     private PlayerNode root;
     
+    // 玩家索引：playerId -> 目前分數，讓查找可沿 (score, id) 排序往下走
+    private final Map<String, Integer> playerScores;
+    
     // 建構函數
     public AVLLeaderboardSystem() {
         root = null;
+        playerScores = new HashMap<>();
     }
     
     // 獲取節點高度
@@ -149,9 +178,28 @@ public class AVLLeaderboardSystem {
         return node;
     }
     
+    // 比較 (score, playerId) 與節點的順序：負數往左（排名較前），正數往右
+    private int compareKey(int score, String playerId, PlayerNode node) {
+        if (score != node.score) {
+            return score > node.score ? -1 : 1;
+        }
+        return playerId.compareTo(node.playerId);
+    }
+    
+    // 依排名順序比較兩個節點
+    private int compareNodes(PlayerNode a, PlayerNode b) {
+        return compareKey(a.score, a.playerId, b);
+    }
+    
     // 1. 添加玩家分數
     public void addPlayer(String playerId, int score) {
+        if (playerScores.containsKey(playerId)) {
+            // 已存在的玩家視為更新，避免同一玩家在樹中出現兩個節點
+            updatePlayerScore(playerId, score);
+            return;
+        }
         root = addPlayerRec(root, playerId, score);
+        playerScores.put(playerId, score);
     }
     
     private PlayerNode addPlayerRec(PlayerNode node, String playerId, int score) {
@@ -182,31 +230,48 @@ public class AVLLeaderboardSystem {
     }
     
     // 2. 更新玩家分數
+    // 透過索引取得舊分數，刪除與插入都沿 (score, id) 排序進行，O(log n)
     public boolean updatePlayerScore(String playerId, int newScore) {
-        // 先刪除舊記錄
-        if (deletePlayer(playerId)) {
-            // 再添加新記錄
-            addPlayer(playerId, newScore);
+        Integer oldScore = playerScores.get(playerId);
+        if (oldScore == null) {
+            return false;
+        }
+        if (oldScore == newScore) {
             return true;
         }
-        return false;
+        root = deletePlayerRec(root, playerId, oldScore);
+        root = addPlayerRec(root, playerId, newScore);
+        playerScores.put(playerId, newScore);
+        return true;
+    }
+    
+    // 移除玩家
+    public boolean removePlayer(String playerId) {
+        return deletePlayer(playerId);
     }
     
     // 刪除玩家
     private boolean deletePlayer(String playerId) {
-        int initialSize = getSubtreeSize(root);
-        root = deletePlayerRec(root, playerId);
-        return getSubtreeSize(root) < initialSize;
+        Integer score = playerScores.remove(playerId);
+        if (score == null) {
+            return false;
+        }
+        root = deletePlayerRec(root, playerId, score);
+        return true;
     }
     
-    private PlayerNode deletePlayerRec(PlayerNode node, String playerId) {
+    private PlayerNode deletePlayerRec(PlayerNode node, String playerId, int score) {
         if (node == null) {
             return null;
         }
         
-        // 先按分數查找，再按ID查找
-        // 這裡簡化處理，實際應用中需要更複雜的查找邏輯
-        if (playerId.equals(node.playerId)) {
+        // 按 (分數, ID) 排序查找
+        int cmp = compareKey(score, playerId, node);
+        if (cmp < 0) {
+            node.left = deletePlayerRec(node.left, playerId, score);
+        } else if (cmp > 0) {
+            node.right = deletePlayerRec(node.right, playerId, score);
+        } else {
             // 找到要刪除的節點
             if (node.left == null) {
                 return node.right;
@@ -217,17 +282,121 @@ public class AVLLeaderboardSystem {
                 PlayerNode successor = findMin(node.right);
                 node.playerId = successor.playerId;
                 node.score = successor.score;
-                node.right = deletePlayerRec(node.right, successor.playerId);
+                node.right = deletePlayerRec(node.right, successor.playerId, successor.score);
             }
-        } else {
-            // 遞迴查找
-            node.left = deletePlayerRec(node.left, playerId);
-            node.right = deletePlayerRec(node.right, playerId);
         }
         
         return rebalance(node);
     }
     
+    // 批次套用分數更新，回傳實際變動的玩家數
+    // 同一玩家的多筆更新先依序合併成最終分數，不存在的玩家視為新增（add 從0起算）；
+    // 變動量小時逐筆刪除再插入，O(m log n)；變動量相對樹大小夠大時，
+    // 以中序序列與排序後的新分數合併，再由排序陣列直接建出平衡樹，O(n + m log m)
+    public int applyBatch(Collection<ScoreUpdate> updates) {
+        // 1. 合併同一玩家的多筆更新
+        Map<String, Integer> finalScores = new HashMap<>();
+        for (ScoreUpdate u : updates) {
+            Integer base = finalScores.get(u.playerId);
+            if (base == null) {
+                base = playerScores.get(u.playerId);
+            }
+            int newScore = u.delta ? (base == null ? 0 : base) + u.value : u.value;
+            finalScores.put(u.playerId, newScore);
+        }
+        
+        // 2. 去除分數沒有改變的玩家
+        finalScores.entrySet().removeIf(e -> e.getValue().equals(playerScores.get(e.getKey())));
+        int changed = finalScores.size();
+        if (changed == 0) {
+            return 0;
+        }
+        
+        if ((long) changed * REBUILD_RATIO < getTotalPlayers()) {
+            // 3a. 變動量小：依排序順序先刪除舊節點、再插入新節點，
+            //     相鄰操作走過的路徑大多重疊，快取命中率較高
+            List<PlayerNode> olds = new ArrayList<>();
+            List<PlayerNode> news = new ArrayList<>(changed);
+            for (Map.Entry<String, Integer> e : finalScores.entrySet()) {
+                Integer oldScore = playerScores.put(e.getKey(), e.getValue());
+                if (oldScore != null) {
+                    olds.add(new PlayerNode(e.getKey(), oldScore));
+                }
+                news.add(new PlayerNode(e.getKey(), e.getValue()));
+            }
+            olds.sort(this::compareNodes);
+            news.sort(this::compareNodes);
+            for (PlayerNode old : olds) {
+                root = deletePlayerRec(root, old.playerId, old.score);
+            }
+            for (PlayerNode fresh : news) {
+                root = addPlayerRec(root, fresh.playerId, fresh.score);
+            }
+        } else {
+            // 3b. 變動量大：整棵重建
+            rebuildWith(finalScores);
+        }
+        return changed;
+    }
+    
+    // 把未變動的節點（已依排名排序）與排序後的新節點合併，再建成平衡樹
+    private void rebuildWith(Map<String, Integer> finalScores) {
+        PlayerNode[] kept = new PlayerNode[getTotalPlayers()];
+        int keptCount = 0;
+        
+        // 迭代中序走訪，保留未變動的節點並沿用其物件
+        Deque<PlayerNode> stack = new ArrayDeque<>();
+        PlayerNode node = root;
+        while (node != null || !stack.isEmpty()) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+            node = stack.pop();
+            PlayerNode next = node.right;
+            if (!finalScores.containsKey(node.playerId)) {
+                kept[keptCount++] = node;
+            }
+            node = next;
+        }
+        
+        PlayerNode[] fresh = new PlayerNode[finalScores.size()];
+        int freshCount = 0;
+        for (Map.Entry<String, Integer> e : finalScores.entrySet()) {
+            fresh[freshCount++] = new PlayerNode(e.getKey(), e.getValue());
+            playerScores.put(e.getKey(), e.getValue());
+        }
+        Arrays.sort(fresh, this::compareNodes);
+        
+        // 合併兩個已排序序列
+        PlayerNode[] merged = new PlayerNode[keptCount + freshCount];
+        int i = 0, j = 0, k = 0;
+        while (i < keptCount && j < freshCount) {
+            if (compareKey(kept[i].score, kept[i].playerId, fresh[j]) < 0) {
+                merged[k++] = kept[i++];
+            } else {
+                merged[k++] = fresh[j++];
+            }
+        }
+        while (i < keptCount) merged[k++] = kept[i++];
+        while (j < freshCount) merged[k++] = fresh[j++];
+        
+        root = buildBalanced(merged, 0, merged.length - 1);
+    }
+    
+    // 由排序陣列建出完全平衡的樹，取中點為根
+    private PlayerNode buildBalanced(PlayerNode[] nodes, int lo, int hi) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        PlayerNode node = nodes[mid];
+        node.left = buildBalanced(nodes, lo, mid - 1);
+        node.right = buildBalanced(nodes, mid + 1, hi);
+        updateNodeInfo(node);
+        return node;
+    }
+    
     // 找到最小值節點
     private PlayerNode findMin(PlayerNode node) {
         if (node == null || node.left == null) {
@@ -238,52 +407,127 @@ public class AVLLeaderboardSystem {
     
     // 3. 查詢玩家排名 (rank操作)
     public int getPlayerRank(String playerId) {
-        return getPlayerRankRec(root, playerId, 0);
-    }
-    
-    private int getPlayerRankRec(PlayerNode node, String playerId, int currentRank) {
-        if (node == null) {
+        Integer score = playerScores.get(playerId);
+        if (score == null) {
             return -1; // 玩家不存在
         }
         
-        if (playerId.equals(node.playerId)) {
-            // 找到玩家，返回排名
-            return currentRank + getSubtreeSize(node.left) + 1;
+        // 沿 (score, id) 排序往下走，累加左側子樹大小
+        int rank = 0;
+        PlayerNode node = root;
+        while (node != null) {
+            int cmp = compareKey(score, playerId, node);
+            if (cmp < 0) {
+                node = node.left;
+            } else if (cmp > 0) {
+                rank += getSubtreeSize(node.left) + 1;
+                node = node.right;
+            } else {
+                return rank + getSubtreeSize(node.left) + 1;
+            }
         }
-        
-        // 在左子樹中查找
-        int leftResult = getPlayerRankRec(node.left, playerId, currentRank);
-        if (leftResult != -1) {
-            return leftResult;
+        return -1;
+    }
+    
+    // 查詢玩家目前分數，不存在時回傳 null
+    public Integer getPlayerScore(String playerId) {
+        return playerScores.get(playerId);
+    }
+    
+    // 計算排在 (score, playerId) 之前的玩家數（不含自己），供分區排行榜合併全域排名
+    public int countPlayersAhead(int score, String playerId) {
+        int count = 0;
+        PlayerNode node = root;
+        while (node != null) {
+            int cmp = compareKey(score, playerId, node);
+            if (cmp <= 0) {
+                node = node.left;
+            } else {
+                count += getSubtreeSize(node.left) + 1;
+                node = node.right;
+            }
         }
-        
-        // 在右子樹中查找
-        return getPlayerRankRec(node.right, playerId, 
-                               currentRank + getSubtreeSize(node.left) + 1);
+        return count;
+    }
+    
+    // 排名區間走訪的回呼，回傳 false 可提前停止
+    public interface RankVisitor {
+        boolean visit(int rank, String playerId, int score);
     }
     
     // 4. 查詢前K名玩家 (select操作)
     public List<String> getTopKPlayers(int k) {
         List<String> result = new ArrayList<>();
-        getTopKPlayersRec(root, k, result);
+        visitRankRange(1, k, (rank, playerId, score) -> result.add(playerId + "(" + score + ")"));
         return result;
     }
     
-    private void getTopKPlayersRec(PlayerNode node, int k, List<String> result) {
-        if (node == null || result.size() >= k) {
-            return;
+    // 依排名順序走訪 [fromRank, toRank] 的玩家，不為每位玩家配置物件，回傳走訪人數
+    public int visitRankRange(int fromRank, int toRank, RankVisitor visitor) {
+        return walkRankRange(fromRank, toRank, visitor, null, null);
+    }
+    
+    // 把 [fromRank, toRank] 的玩家依序填入呼叫端提供的陣列，最多填滿陣列長度，回傳填入筆數
+    public int getRankRange(int fromRank, int toRank, String[] ids, int[] scores) {
+        int limit = Math.min(ids.length, scores.length);
+        if (limit == 0) {
+            return 0;
         }
-        
-        // 中序遍歷（按分數降序）
-        getTopKPlayersRec(node.left, k, result);
-        
-        if (result.size() < k) {
-            result.add(node.playerId + "(" + node.score + ")");
+        return walkRankRange(fromRank, Math.min(toRank, Math.max(fromRank, 1) + limit - 1), null, ids, scores);
+    }
+    
+    // 把前K名玩家填入呼叫端提供的陣列，回傳填入筆數
+    public int getTopK(int k, String[] ids, int[] scores) {
+        return getRankRange(1, k, ids, scores);
+    }
+    
+    // 迭代中序走訪：先依子樹大小下降到 fromRank，再以顯式堆疊逐一往後走
+    // 堆疊只存放一條根到葉路徑上尚未走訪的祖先，大小不超過樹高
+    private int walkRankRange(int fromRank, int toRank, RankVisitor visitor, String[] ids, int[] scores) {
+        fromRank = Math.max(fromRank, 1);
+        toRank = Math.min(toRank, getSubtreeSize(root));
+        if (fromRank > toRank) {
+            return 0;
+        }
+        
+        PlayerNode[] stack = new PlayerNode[getHeight(root)];
+        int top = 0;
+        
+        // 下降到排名 fromRank 的節點，沿途記錄往左走的祖先
+        PlayerNode node = root;
+        int remaining = fromRank;
+        while (node != null) {
+            int leftSize = getSubtreeSize(node.left);
+            if (remaining <= leftSize) {
+                stack[top++] = node;
+                node = node.left;
+            } else if (remaining == leftSize + 1) {
+                stack[top++] = node;
+                break;
+            } else {
+                remaining -= leftSize + 1;
+                node = node.right;
+            }
         }
         
-        if (result.size() < k) {
-            getTopKPlayersRec(node.right, k, result);
+        int count = 0;
+        for (int rank = fromRank; rank <= toRank && top > 0; rank++) {
+            node = stack[--top];
+            if (visitor != null) {
+                count++;
+                if (!visitor.visit(rank, node.playerId, node.score)) {
+                    break;
+                }
+            } else {
+                ids[count] = node.playerId;
+                scores[count] = node.score;
+                count++;
+            }
+            for (PlayerNode next = node.right; next != null; next = next.left) {
+                stack[top++] = next;
+            }
         }
+        return count;
     }
     
     // 額外功能：根據排名查詢玩家 (select操作)
@@ -398,6 +642,23 @@ public class AVLLeaderboardSystem {
         System.out.println("前10名玩家: " + leaderboard.getTopKPlayers(10));
         System.out.println();
         
+        // 結構化結果：填入呼叫端陣列與排名區間走訪
+        String[] idBuffer = new String[3];
+        int[] scoreBuffer = new int[3];
+        int filled = leaderboard.getTopK(3, idBuffer, scoreBuffer);
+        System.out.print("前3名（陣列）: ");
+        for (int i = 0; i < filled; i++) {
+            System.out.print(idBuffer[i] + "=" + scoreBuffer[i] + " ");
+        }
+        System.out.println();
+        System.out.print("第2~4名（走訪）: ");
+        leaderboard.visitRankRange(2, 4, (r, id, s) -> {
+            System.out.print(r + "." + id + "=" + s + " ");
+            return true;
+        });
+        System.out.println();
+        System.out.println();
+        
         // 測試4: 根據排名查詢玩家
         System.out.println("測試4: 根據排名查詢玩家");
         for (int i = 1; i <= 6; i++) {
@@ -436,8 +697,22 @@ public class AVLLeaderboardSystem {
         System.out.println("查詢前100名: " + leaderboard.getTopKPlayers(100));
         System.out.println();
         
-        // 測試8: 性能測試
-        System.out.println("測試8: 性能測試");
+        // 測試8: 批次更新
+        System.out.println("測試8: 批次更新");
+        List<ScoreUpdate> batch = new ArrayList<>();
+        batch.add(ScoreUpdate.add("Henry", 500));
+        batch.add(ScoreUpdate.add("Henry", 500));
+        batch.add(ScoreUpdate.set("Ivy", 2050));
+        batch.add(ScoreUpdate.set("Kate", 1450));
+        System.out.println("實際變動玩家數: " + leaderboard.applyBatch(batch));
+        System.out.println("前5名玩家: " + leaderboard.getTopKPlayers(5));
+        System.out.println("Henry的排名: " + leaderboard.getPlayerRank("Henry"));
+        System.out.println("總玩家數: " + leaderboard.getTotalPlayers());
+        System.out.println("是否為有效AVL樹: " + leaderboard.isValidAVL());
+        System.out.println();
+        
+        // 測試9: 性能測試
+        System.out.println("測試9: 性能測試");
         System.out.println("測試大量玩家的性能...");
         
         long startTime = System.nanoTime();
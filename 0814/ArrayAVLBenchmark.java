@@ -0,0 +1,88 @@
+/*
+ * 陣列式 AVL 與物件式 AVLTree 的記憶體與搜尋延遲比較
+ * 說明：插入相同的 n 個隨機鍵，以 GC 後的堆積用量估算每節點記憶體，
+ *       再以相同的查詢序列量測平均搜尋時間
+ * 用法：java ArrayAVLBenchmark [鍵數] [查詢次數]
+ */
+
+import java.util.*;
+
+public class ArrayAVLBenchmark {
+    public static void main(String[] args) {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        int queries = args.length > 1 ? Integer.parseInt(args[1]) : 5_000_000;
+
+        System.out.println("=== 陣列式 AVL vs AVLTree ===");
+        System.out.println("鍵數: " + n + ", 查詢次數: " + queries);
+
+        int[] keys = new int[n];
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt();
+        }
+        int[] probes = new int[queries];
+        for (int i = 0; i < queries; i++) {
+            // 一半命中、一半隨機
+            probes[i] = (i & 1) == 0 ? keys[random.nextInt(n)] : random.nextInt();
+        }
+
+        // AVLTree
+        long before = usedMemory();
+        AVLTree objectTree = new AVLTree();
+        long startTime = System.nanoTime();
+        for (int key : keys) {
+            objectTree.insert(key);
+        }
+        long objectInsert = System.nanoTime() - startTime;
+        long objectBytes = usedMemory() - before;
+        long objectSearch = timeSearch(objectTree::search, probes);
+
+        // ArrayAVLTree
+        before = usedMemory();
+        ArrayAVLTree arrayTree = new ArrayAVLTree(n);
+        startTime = System.nanoTime();
+        for (int key : keys) {
+            arrayTree.insert(key);
+        }
+        long arrayInsert = System.nanoTime() - startTime;
+        long arrayBytes = usedMemory() - before;
+        long arraySearch = timeSearch(arrayTree::search, probes);
+
+        System.out.printf("AVLTree      : 插入 %,6d ms, 記憶體 %6.1f bytes/節點, 搜尋 %6.1f ns/次%n",
+                objectInsert / 1_000_000, (double) objectBytes / n, (double) objectSearch / queries);
+        System.out.printf("ArrayAVLTree : 插入 %,6d ms, 記憶體 %6.1f bytes/節點 (陣列配置 %.1f), 搜尋 %6.1f ns/次%n",
+                arrayInsert / 1_000_000, (double) arrayBytes / n,
+                (double) arrayTree.memoryBytes() / arrayTree.size(), (double) arraySearch / queries);
+        System.out.println("兩棵樹皆有效: " + (objectTree.isValidAVL() && arrayTree.isValidAVL())
+                + ", ArrayAVLTree 大小: " + arrayTree.size());
+    }
+
+    interface Searcher {
+        boolean search(int key);
+    }
+
+    // 暖身後量測，回傳總耗時；累計命中數避免迴圈被最佳化掉
+    private static long timeSearch(Searcher searcher, int[] probes) {
+        int hits = 0;
+        for (int i = 0; i < Math.min(probes.length, 1_000_000); i++) {
+            if (searcher.search(probes[i])) hits++;
+        }
+        long startTime = System.nanoTime();
+        for (int probe : probes) {
+            if (searcher.search(probe)) hits++;
+        }
+        long elapsed = System.nanoTime() - startTime;
+        if (hits < 0) {
+            System.out.println(hits);
+        }
+        return elapsed;
+    }
+
+    private static long usedMemory() {
+        Runtime rt = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return rt.totalMemory() - rt.freeMemory();
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Time Complexity: O(log n) for insert, search and delete
+ * 說明：與 AVLTree 相同的操作，但節點不是物件，而是 int[] 中的編號；
+ *       每個節點佔連續 4 個 int（key / height / left / right），編號 0 代表 null，
+ *       刪除的節點串成 free-list 供之後插入重複使用
+ * 空間複雜度：每個節點 16 bytes，無物件標頭與參考；同一節點的欄位落在同一條快取線上
+ */
+
+import java.util.Arrays;
+
+public class ArrayAVLTree {
+    private static final int NIL = 0;
+
+    // 節點欄位在 nodes[] 中的偏移
+    private static final int STRIDE = 4;
+    private static final int KEY = 0;
+    private static final int HEIGHT = 1;
+    private static final int LEFT = 2;
+    private static final int RIGHT = 3;
+
+    private int[] nodes;
+
+    private int root = NIL;
+    private int size = 0;
+    private int nextUnused = 1; // 從未使用過的下一個編號
+    private int freeHead = NIL; // free-list 頭，以 left 欄位串接
+
+    public ArrayAVLTree() {
+        this(16);
+    }
+
+    public ArrayAVLTree(int initialCapacity) {
+        nodes = new int[(Math.max(initialCapacity, 1) + 1) * STRIDE];
+    }
+
+    // 欄位存取
+    private int key(int node) { return nodes[node * STRIDE + KEY]; }
+    private int height(int node) { return nodes[node * STRIDE + HEIGHT]; }
+    private int left(int node) { return nodes[node * STRIDE + LEFT]; }
+    private int right(int node) { return nodes[node * STRIDE + RIGHT]; }
+    private void setKey(int node, int key) { nodes[node * STRIDE + KEY] = key; }
+    private void setHeight(int node, int h) { nodes[node * STRIDE + HEIGHT] = h; }
+    private void setLeft(int node, int child) { nodes[node * STRIDE + LEFT] = child; }
+    private void setRight(int node, int child) { nodes[node * STRIDE + RIGHT] = child; }
+
+    // 配置節點：優先取 free-list，否則使用新編號，必要時倍增陣列
+    private int allocate(int key) {
+        int node;
+        if (freeHead != NIL) {
+            node = freeHead;
+            freeHead = left(node);
+        } else {
+            if ((nextUnused + 1) * STRIDE > nodes.length) {
+                nodes = Arrays.copyOf(nodes, nodes.length * 2);
+            }
+            node = nextUnused++;
+        }
+        setKey(node, key);
+        setHeight(node, 1);
+        setLeft(node, NIL);
+        setRight(node, NIL);
+        return node;
+    }
+
+    // 釋放節點到 free-list
+    private void release(int node) {
+        setLeft(node, freeHead);
+        setRight(node, NIL);
+        setHeight(node, 0);
+        freeHead = node;
+    }
+
+    // 取得平衡因子（NIL 的高度固定為 0）
+    private int getBalance(int node) {
+        return height(left(node)) - height(right(node));
+    }
+
+    private void updateHeight(int node) {
+        setHeight(node, Math.max(height(left(node)), height(right(node))) + 1);
+    }
+
+    private int rightRotate(int y) {
+        int x = left(y);
+        setLeft(y, right(x));
+        setRight(x, y);
+        updateHeight(y);
+        updateHeight(x);
+        return x;
+    }
+
+    private int leftRotate(int x) {
+        int y = right(x);
+        setRight(x, left(y));
+        setLeft(y, x);
+        updateHeight(x);
+        updateHeight(y);
+        return y;
+    }
+
+    // 更新高度並在失衡時旋轉
+    private int rebalance(int node) {
+        updateHeight(node);
+        int balance = getBalance(node);
+
+        // Left Left / Left Right 情況
+        if (balance > 1) {
+            if (getBalance(left(node)) < 0) {
+                setLeft(node, leftRotate(left(node)));
+            }
+            return rightRotate(node);
+        }
+
+        // Right Right / Right Left 情況
+        if (balance < -1) {
+            if (getBalance(right(node)) > 0) {
+                setRight(node, rightRotate(right(node)));
+            }
+            return leftRotate(node);
+        }
+
+        return node;
+    }
+
+    // 插入節點
+    // 時間複雜度: O(log n), 空間複雜度: O(log n)
+    public void insert(int data) {
+        root = insertNode(root, data);
+    }
+
+    private int insertNode(int node, int data) {
+        if (node == NIL) {
+            size++;
+            return allocate(data);
+        }
+
+        // 遞迴回來後才透過 setter 寫回，遞迴中 allocate() 可能已換掉 nodes 陣列
+        if (data < key(node)) {
+            setLeft(node, insertNode(left(node), data));
+        } else if (data > key(node)) {
+            setRight(node, insertNode(right(node), data));
+        } else {
+            return node; // 重複值不插入
+        }
+
+        return rebalance(node);
+    }
+
+    // 搜尋節點
+    // 時間複雜度: O(log n), 空間複雜度: O(1)
+    public boolean search(int data) {
+        int node = root;
+        while (node != NIL) {
+            int key = key(node);
+            if (data == key) return true;
+            node = data < key ? left(node) : right(node);
+        }
+        return false;
+    }
+
+    // 刪除節點
+    // 時間複雜度: O(log n), 空間複雜度: O(log n)
+    public void delete(int data) {
+        root = deleteNode(root, data);
+    }
+
+    private int deleteNode(int node, int data) {
+        if (node == NIL) return NIL;
+
+        if (data < key(node)) {
+            setLeft(node, deleteNode(left(node), data));
+        } else if (data > key(node)) {
+            setRight(node, deleteNode(right(node), data));
+        } else {
+            if (left(node) == NIL || right(node) == NIL) {
+                int child = left(node) != NIL ? left(node) : right(node);
+                release(node);
+                size--;
+                return child;
+            }
+            // 兩個子節點：以後繼節點的值取代，再刪除後繼節點
+            int successor = right(node);
+            while (left(successor) != NIL) {
+                successor = left(successor);
+            }
+            setKey(node, key(successor));
+            setRight(node, deleteNode(right(node), key(successor)));
+        }
+
+        return rebalance(node);
+    }
+
+    // 驗證是否為有效的 AVL 樹
+    public boolean isValidAVL() {
+        return checkAVL(root) != -1;
+    }
+
+    private int checkAVL(int node) {
+        if (node == NIL) return 0;
+
+        int leftHeight = checkAVL(left(node));
+        int rightHeight = checkAVL(right(node));
+
+        if (leftHeight == -1 || rightHeight == -1) return -1;
+
+        if (Math.abs(leftHeight - rightHeight) > 1) return -1;
+
+        return Math.max(leftHeight, rightHeight) + 1;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getTreeHeight() {
+        return height(root);
+    }
+
+    // 目前配置的容量（節點數）
+    public int capacity() {
+        return nodes.length / STRIDE - 1;
+    }
+
+    // 節點陣列佔用的位元組數
+    public long memoryBytes() {
+        return (long) nodes.length * Integer.BYTES;
+    }
+
+    // 列印樹狀結構（中序）
+    public void printTree() {
+        printInOrder(root);
+        System.out.println();
+    }
+
+    private void printInOrder(int node) {
+        if (node != NIL) {
+            printInOrder(left(node));
+            System.out.print(key(node) + "(" + getBalance(node) + ") ");
+            printInOrder(right(node));
+        }
+    }
+
+    public static void main(String[] args) {
+        ArrayAVLTree tree = new ArrayAVLTree(4);
+
+        System.out.println("=== 陣列式 AVL 樹測試 ===");
+        int[] values = {50, 30, 70, 20, 40, 60, 80, 10, 25, 35, 45};
+        for (int v : values) {
+            tree.insert(v);
+        }
+        System.out.print("中序(平衡因子): ");
+        tree.printTree();
+        System.out.println("大小: " + tree.size() + ", 高度: " + tree.getTreeHeight()
+                + ", 是否平衡: " + tree.isValidAVL());
+
+        tree.delete(30);
+        tree.delete(50);
+        System.out.print("刪除 30, 50 後: ");
+        tree.printTree();
+        System.out.println("搜尋 30: " + tree.search(30) + ", 搜尋 45: " + tree.search(45));
+
+        tree.insert(31);
+        tree.insert(32);
+        System.out.println("重用 free-list 後容量: " + tree.capacity() + ", 大小: " + tree.size()
+                + ", 是否平衡: " + tree.isValidAVL());
+    }
+}
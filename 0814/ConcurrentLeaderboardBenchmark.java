@@ -0,0 +1,68 @@
+/*
+ * 分區並行排行榜的更新擴展性測試
+ * 說明：固定玩家總數，以 1..16 條執行緒同時更新分數，比較總吞吐量與單執行緒的倍數
+ * 用法：java ConcurrentLeaderboardBenchmark [玩家數] [每執行緒更新次數] [分區數]
+ */
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public class ConcurrentLeaderboardBenchmark {
+    public static void main(String[] args) throws Exception {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+        int partitionCount = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        System.out.println("=== 分區並行排行榜擴展性測試 ===");
+        System.out.println("玩家數: " + n + ", 分區數: " + partitionCount
+                + ", 處理器數: " + Runtime.getRuntime().availableProcessors());
+
+        ConcurrentLeaderboardSystem leaderboard = new ConcurrentLeaderboardSystem(partitionCount);
+        String[] ids = new String[n];
+        Random random = new Random(42);
+        for (int i = 0; i < n; i++) {
+            ids[i] = "Player" + i;
+            leaderboard.addPlayer(ids[i], random.nextInt(1_000_000));
+        }
+
+        // 暖身
+        runUpdates(leaderboard, ids, 1, perThread);
+
+        double baseline = 0;
+        for (int threads = 1; threads <= 16; threads *= 2) {
+            double opsPerSec = runUpdates(leaderboard, ids, threads, perThread);
+            if (threads == 1) {
+                baseline = opsPerSec;
+            }
+            System.out.printf("%2d 執行緒: %,12.0f ops/s  (%.2fx)%n", threads, opsPerSec, opsPerSec / baseline);
+        }
+        System.out.println("總玩家數: " + leaderboard.getTotalPlayers());
+    }
+
+    // 以指定執行緒數同時更新分數，回傳總吞吐量
+    private static double runUpdates(ConcurrentLeaderboardSystem leaderboard, String[] ids,
+                                     int threads, int perThread) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final long seed = t;
+            futures.add(pool.submit(() -> {
+                Random random = new Random(seed);
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    leaderboard.updatePlayerScore(ids[random.nextInt(ids.length)], random.nextInt(1_000_000));
+                }
+                return null;
+            }));
+        }
+        long startTime = System.nanoTime();
+        start.countDown();
+        for (Future<?> f : futures) {
+            f.get();
+        }
+        long elapsed = System.nanoTime() - startTime;
+        pool.shutdown();
+        return (double) threads * perThread / (elapsed / 1e9);
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Time Complexity: O(log(n/P)) for add and update, O(P log(n/P)) for rank,
+ *                  O(P (log n + k) + k log P) for top-K, P = 分區數
+ * 說明：依 playerId 雜湊把玩家分到 P 個分區，每個分區各有一棵 AVLLeaderboardSystem 與一把讀寫鎖，
+ *       不同分區的更新互不阻塞；全域排名由各分區「排在前面的人數」相加而得
+ * 空間複雜度：O(n)
+ * 注意：跨分區查詢逐一鎖定分區，結果不是整體的原子快照
+ */
+
+import java.util.*;
+import java.util.concurrent.locks.*;
+
+public class ConcurrentLeaderboardSystem {
+
+    // 分區：一棵AVL排行榜與保護它的讀寫鎖
+    static class Partition {
+        final AVLLeaderboardSystem board = new AVLLeaderboardSystem();
+        final ReadWriteLock lock = new ReentrantReadWriteLock();
+    }
+
+    private final Partition[] partitions;
+
+    // 建構函數，預設分區數為處理器數的4倍
+    public ConcurrentLeaderboardSystem() {
+        this(Runtime.getRuntime().availableProcessors() * 4);
+    }
+
+    public ConcurrentLeaderboardSystem(int partitionCount) {
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("分區數必須大於0: " + partitionCount);
+        }
+        partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitions[i] = new Partition();
+        }
+    }
+
+    // 依 playerId 雜湊選擇分區（擾動高位，與 HashMap 相同做法）
+    private Partition partitionOf(String playerId) {
+        int h = playerId.hashCode();
+        h ^= (h >>> 16);
+        return partitions[(h & 0x7fffffff) % partitions.length];
+    }
+
+    // 1. 添加玩家分數
+    public void addPlayer(String playerId, int score) {
+        Partition p = partitionOf(playerId);
+        p.lock.writeLock().lock();
+        try {
+            p.board.addPlayer(playerId, score);
+        } finally {
+            p.lock.writeLock().unlock();
+        }
+    }
+
+    // 2. 更新玩家分數
+    public boolean updatePlayerScore(String playerId, int newScore) {
+        Partition p = partitionOf(playerId);
+        p.lock.writeLock().lock();
+        try {
+            return p.board.updatePlayerScore(playerId, newScore);
+        } finally {
+            p.lock.writeLock().unlock();
+        }
+    }
+
+    // 移除玩家
+    public boolean removePlayer(String playerId) {
+        Partition p = partitionOf(playerId);
+        p.lock.writeLock().lock();
+        try {
+            return p.board.removePlayer(playerId);
+        } finally {
+            p.lock.writeLock().unlock();
+        }
+    }
+
+    // 3. 查詢玩家全域排名：1 + 各分區中排在該玩家之前的人數
+    public int getPlayerRank(String playerId) {
+        Partition own = partitionOf(playerId);
+        Integer score;
+        own.lock.readLock().lock();
+        try {
+            score = own.board.getPlayerScore(playerId);
+        } finally {
+            own.lock.readLock().unlock();
+        }
+        if (score == null) {
+            return -1; // 玩家不存在
+        }
+
+        int ahead = 0;
+        for (Partition p : partitions) {
+            p.lock.readLock().lock();
+            try {
+                ahead += p.board.countPlayersAhead(score, playerId);
+            } finally {
+                p.lock.readLock().unlock();
+            }
+        }
+        return ahead + 1;
+    }
+
+    // 4. 查詢全域前K名：各分區前K名填入陣列後做 K 路合併
+    public List<String> getTopKPlayers(int k) {
+        List<String> result = new ArrayList<>();
+        if (k <= 0) {
+            return result;
+        }
+        k = Math.min(k, getTotalPlayers());
+
+        int partitionCount = partitions.length;
+        // 各分區的緩衝區只配置 min(k, 分區人數)，分區多而人少時不會產生 P * k 的垃圾
+        String[][] ids = new String[partitionCount][];
+        int[][] scores = new int[partitionCount][];
+        int[] counts = new int[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            Partition p = partitions[i];
+            p.lock.readLock().lock();
+            try {
+                int size = Math.min(k, p.board.getTotalPlayers());
+                ids[i] = new String[size];
+                scores[i] = new int[size];
+                counts[i] = p.board.getTopK(size, ids[i], scores[i]);
+            } finally {
+                p.lock.readLock().unlock();
+            }
+        }
+
+        // 堆中存放分區編號，依該分區目前位置的 (分數降序, ID升序) 比較
+        int[] pos = new int[partitionCount];
+        PriorityQueue<Integer> pq = new PriorityQueue<>((a, b) -> {
+            int sa = scores[a][pos[a]], sb = scores[b][pos[b]];
+            if (sa != sb) {
+                return Integer.compare(sb, sa);
+            }
+            return ids[a][pos[a]].compareTo(ids[b][pos[b]]);
+        });
+        for (int i = 0; i < partitionCount; i++) {
+            if (counts[i] > 0) {
+                pq.offer(i);
+            }
+        }
+
+        while (!pq.isEmpty() && result.size() < k) {
+            int i = pq.poll();
+            result.add(ids[i][pos[i]] + "(" + scores[i][pos[i]] + ")");
+            if (++pos[i] < counts[i]) {
+                pq.offer(i);
+            }
+        }
+        return result;
+    }
+
+    // 獲取總玩家數
+    public int getTotalPlayers() {
+        int total = 0;
+        for (Partition p : partitions) {
+            p.lock.readLock().lock();
+            try {
+                total += p.board.getTotalPlayers();
+            } finally {
+                p.lock.readLock().unlock();
+            }
+        }
+        return total;
+    }
+
+    // 獲取分區數
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    // 測試並行排行榜
+    public static void main(String[] args) throws InterruptedException {
+        ConcurrentLeaderboardSystem leaderboard = new ConcurrentLeaderboardSystem(8);
+        AVLLeaderboardSystem reference = new AVLLeaderboardSystem();
+
+        System.out.println("=== 分區並行排行榜測試 ===\n");
+
+        // 測試1: 與單一AVL排行榜結果一致
+        System.out.println("測試1: 與單一AVL排行榜比對");
+        String[] names = {"Alice", "Bob", "Charlie", "David", "Eve", "Frank"};
+        int[] scores = {1500, 1800, 1200, 2000, 1600, 1500};
+        for (int i = 0; i < names.length; i++) {
+            leaderboard.addPlayer(names[i], scores[i]);
+            reference.addPlayer(names[i], scores[i]);
+        }
+        System.out.println("前5名: " + leaderboard.getTopKPlayers(5));
+        System.out.println("單一AVL前5名: " + reference.getTopKPlayers(5));
+        for (String name : names) {
+            System.out.println(name + " 排名: " + leaderboard.getPlayerRank(name)
+                    + " (單一AVL: " + reference.getPlayerRank(name) + ")");
+        }
+        System.out.println();
+
+        // 測試2: 多執行緒並行更新
+        System.out.println("測試2: 多執行緒並行更新");
+        int threads = 4;
+        int perThread = 50_000;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            workers[t] = new Thread(() -> {
+                Random random = new Random(id);
+                for (int i = 0; i < perThread; i++) {
+                    String player = "T" + id + "-" + (i % 1000);
+                    leaderboard.addPlayer(player, random.nextInt(100_000));
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread w : workers) {
+            w.join();
+        }
+        System.out.println("總玩家數: " + leaderboard.getTotalPlayers() + " (預期 " + (threads * 1000 + names.length) + ")");
+        System.out.println("前3名: " + leaderboard.getTopKPlayers(3));
+        System.out.println();
+
+        // 測試3: 邊界情況
+        System.out.println("測試3: 邊界情況");
+        System.out.println("查詢不存在的玩家排名: " + leaderboard.getPlayerRank("Unknown"));
+        System.out.println("查詢前0名: " + leaderboard.getTopKPlayers(0));
+        System.out.println("更新不存在的玩家: " + leaderboard.updatePlayerScore("Unknown", 10));
+    }
+}
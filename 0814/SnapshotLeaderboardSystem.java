@@ -0,0 +1,488 @@
+/*
+ * Time Complexity: O(log n) for add, update, remove, rank and select operations
+ * 說明：沿用 PersistentAVLExercise 的路徑複製做法，每次寫入只複製根到目標的 O(log n) 個節點，
+ *       寫入完成後以 AtomicReference 發佈新的不可變根節點；讀取者只讀取當下的快照，
+ *       永遠不需加鎖，也不會看到寫到一半的樹。
+ *       playerId -> 分數的索引也是路徑複製的 AVL 樹（依 playerId 排序），與排名樹放在同一個快照中
+ *       一起發佈，排名查詢只需讀一次快照，不會看到索引與排名樹不一致
+ * 空間複雜度：O(n)，每次寫入額外 O(log n) 個新節點，舊版本無人引用後由 GC 回收
+ */
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class SnapshotLeaderboardSystem {
+
+    // 不可變的玩家節點
+    static final class ImmutablePlayerNode {
+        final String playerId;
+        final int score;
+        final ImmutablePlayerNode left, right;
+        final int height;
+        final int subtreeSize;
+
+        private ImmutablePlayerNode(String playerId, int score,
+                                    ImmutablePlayerNode left, ImmutablePlayerNode right) {
+            this.playerId = playerId;
+            this.score = score;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(getHeight(left), getHeight(right)) + 1;
+            this.subtreeSize = getSubtreeSize(left) + getSubtreeSize(right) + 1;
+        }
+
+        // 創建新節點（不可變）
+        static ImmutablePlayerNode create(String playerId, int score,
+                                          ImmutablePlayerNode left, ImmutablePlayerNode right) {
+            return new ImmutablePlayerNode(playerId, score, left, right);
+        }
+
+        // 以相同玩家資料、不同子節點創建新節點
+        ImmutablePlayerNode withChildren(ImmutablePlayerNode newLeft, ImmutablePlayerNode newRight) {
+            return new ImmutablePlayerNode(playerId, score, newLeft, newRight);
+        }
+
+        static int getHeight(ImmutablePlayerNode node) {
+            return node != null ? node.height : 0;
+        }
+
+        static int getSubtreeSize(ImmutablePlayerNode node) {
+            return node != null ? node.subtreeSize : 0;
+        }
+
+        static int getBalanceFactor(ImmutablePlayerNode node) {
+            if (node == null) return 0;
+            return getHeight(node.left) - getHeight(node.right);
+        }
+    }
+
+    // 不可變快照：同一個快照上的所有查詢結果彼此一致
+    public static final class Snapshot {
+        private final ImmutablePlayerNode root;  // 依 (分數降序, ID升序) 排序的排名樹
+        private final ImmutablePlayerNode index; // 依 playerId 排序的索引樹，與 root 含相同玩家
+        private final long version;
+
+        Snapshot(ImmutablePlayerNode root, ImmutablePlayerNode index, long version) {
+            this.root = root;
+            this.index = index;
+            this.version = version;
+        }
+
+        // 快照版本號，每次發佈遞增
+        public long getVersion() {
+            return version;
+        }
+
+        // 快照中的玩家數
+        public int getTotalPlayers() {
+            return ImmutablePlayerNode.getSubtreeSize(root);
+        }
+
+        // 玩家在此快照中的分數，不存在時回傳 null
+        public Integer getScore(String playerId) {
+            ImmutablePlayerNode node = findById(index, playerId);
+            return node != null ? node.score : null;
+        }
+
+        // 玩家在此快照中的排名，不存在時回傳 -1
+        public int getPlayerRank(String playerId) {
+            Integer score = getScore(playerId);
+            return score != null ? getRank(score, playerId) : -1;
+        }
+
+        // 查詢 (score, playerId) 在此快照中的排名，不存在時回傳 -1
+        public int getRank(int score, String playerId) {
+            int rank = 0;
+            ImmutablePlayerNode node = root;
+            while (node != null) {
+                int cmp = compareKey(score, playerId, node);
+                if (cmp < 0) {
+                    node = node.left;
+                } else if (cmp > 0) {
+                    rank += ImmutablePlayerNode.getSubtreeSize(node.left) + 1;
+                    node = node.right;
+                } else {
+                    return rank + ImmutablePlayerNode.getSubtreeSize(node.left) + 1;
+                }
+            }
+            return -1;
+        }
+
+        // 根據排名查詢玩家 (select操作)
+        public String getPlayerByRank(int rank) {
+            if (rank < 1 || rank > getTotalPlayers()) {
+                return null;
+            }
+            ImmutablePlayerNode node = root;
+            while (node != null) {
+                int leftSize = ImmutablePlayerNode.getSubtreeSize(node.left);
+                if (rank <= leftSize) {
+                    node = node.left;
+                } else if (rank == leftSize + 1) {
+                    return node.playerId + "(" + node.score + ")";
+                } else {
+                    rank -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+            return null;
+        }
+
+        // 查詢前K名玩家
+        public List<String> getTopKPlayers(int k) {
+            List<String> result = new ArrayList<>();
+            getTopKPlayersRec(root, k, result);
+            return result;
+        }
+
+        private void getTopKPlayersRec(ImmutablePlayerNode node, int k, List<String> result) {
+            if (node == null || result.size() >= k) {
+                return;
+            }
+            getTopKPlayersRec(node.left, k, result);
+            if (result.size() < k) {
+                result.add(node.playerId + "(" + node.score + ")");
+            }
+            if (result.size() < k) {
+                getTopKPlayersRec(node.right, k, result);
+            }
+        }
+
+        // 檢查是否為有效的AVL樹
+        public boolean isValidAVL() {
+            return isValidAVLRec(root);
+        }
+
+        private boolean isValidAVLRec(ImmutablePlayerNode node) {
+            if (node == null) {
+                return true;
+            }
+            int balance = ImmutablePlayerNode.getBalanceFactor(node);
+            return balance >= -1 && balance <= 1
+                    && isValidAVLRec(node.left) && isValidAVLRec(node.right);
+        }
+    }
+
+    // 目前發佈的快照，讀取者只讀這個參考
+    private final AtomicReference<Snapshot> current;
+
+    // 寫入者之間互斥；讀取者不使用此鎖
+    private final Object writeLock = new Object();
+
+    // 建構函數
+    public SnapshotLeaderboardSystem() {
+        current = new AtomicReference<>(new Snapshot(null, null, 0));
+    }
+
+    // 比較 (score, playerId) 與節點的順序：負數往左（排名較前），正數往右
+    private static int compareKey(int score, String playerId, ImmutablePlayerNode node) {
+        if (score != node.score) {
+            return score > node.score ? -1 : 1;
+        }
+        return playerId.compareTo(node.playerId);
+    }
+
+    // 取得目前快照，可在同一快照上做多次一致的查詢
+    public Snapshot snapshot() {
+        return current.get();
+    }
+
+    // 1. 添加或更新玩家分數；分數未改變時不發佈新版本
+    public void addPlayer(String playerId, int score) {
+        synchronized (writeLock) {
+            Snapshot snap = current.get();
+            ImmutablePlayerNode old = findById(snap.index, playerId);
+            if (old != null && old.score == score) {
+                return;
+            }
+            publish(snap, upsert(snap.root, old, playerId, score), putById(snap.index, playerId, score));
+        }
+    }
+
+    // 2. 更新玩家分數，玩家不存在時回傳 false
+    public boolean updatePlayerScore(String playerId, int newScore) {
+        synchronized (writeLock) {
+            Snapshot snap = current.get();
+            ImmutablePlayerNode old = findById(snap.index, playerId);
+            if (old == null) {
+                return false;
+            }
+            if (old.score != newScore) {
+                publish(snap, upsert(snap.root, old, playerId, newScore), putById(snap.index, playerId, newScore));
+            }
+            return true;
+        }
+    }
+
+    // 批次寫入：整批套用後只發佈一次快照，讀取者不會看到批次的中間狀態
+    public void applyUpdates(Map<String, Integer> updates) {
+        synchronized (writeLock) {
+            Snapshot snap = current.get();
+            ImmutablePlayerNode root = snap.root;
+            ImmutablePlayerNode index = snap.index;
+            for (Map.Entry<String, Integer> e : updates.entrySet()) {
+                String playerId = e.getKey();
+                int score = e.getValue();
+                ImmutablePlayerNode old = findById(index, playerId);
+                if (old == null || old.score != score) {
+                    root = upsert(root, old, playerId, score);
+                    index = putById(index, playerId, score);
+                }
+            }
+            if (root != snap.root) {
+                publish(snap, root, index);
+            }
+        }
+    }
+
+    // 移除玩家
+    public boolean removePlayer(String playerId) {
+        synchronized (writeLock) {
+            Snapshot snap = current.get();
+            ImmutablePlayerNode old = findById(snap.index, playerId);
+            if (old == null) {
+                return false;
+            }
+            publish(snap, deleteRec(snap.root, playerId, old.score), removeById(snap.index, playerId));
+            return true;
+        }
+    }
+
+    // 在寫入鎖內呼叫：刪除舊分數節點（old 為索引中的節點，可為 null）再插入新分數節點
+    private ImmutablePlayerNode upsert(ImmutablePlayerNode root, ImmutablePlayerNode old, String playerId, int score) {
+        if (old != null) {
+            root = deleteRec(root, playerId, old.score);
+        }
+        return insertRec(root, playerId, score);
+    }
+
+    // 排名樹與索引樹以同一次 set 發佈
+    private void publish(Snapshot previous, ImmutablePlayerNode root, ImmutablePlayerNode index) {
+        current.set(new Snapshot(root, index, previous.version + 1));
+    }
+
+    // 3. 查詢玩家排名（讀取目前快照，不阻塞）
+    public int getPlayerRank(String playerId) {
+        return current.get().getPlayerRank(playerId);
+    }
+    
+    // 4. 查詢前K名玩家（讀取目前快照，不阻塞）
+    public List<String> getTopKPlayers(int k) {
+        return current.get().getTopKPlayers(k);
+    }
+
+    // 根據排名查詢玩家（讀取目前快照，不阻塞）
+    public String getPlayerByRank(int rank) {
+        return current.get().getPlayerByRank(rank);
+    }
+
+    // 獲取總玩家數
+    public int getTotalPlayers() {
+        return current.get().getTotalPlayers();
+    }
+
+    // 在索引樹中依 playerId 查找
+    private static ImmutablePlayerNode findById(ImmutablePlayerNode node, String playerId) {
+        while (node != null) {
+            int cmp = playerId.compareTo(node.playerId);
+            if (cmp == 0) {
+                return node;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    // 索引樹插入或覆寫分數（路徑複製）
+    private ImmutablePlayerNode putById(ImmutablePlayerNode node, String playerId, int score) {
+        if (node == null) {
+            return ImmutablePlayerNode.create(playerId, score, null, null);
+        }
+        int cmp = playerId.compareTo(node.playerId);
+        if (cmp < 0) {
+            return rebalance(node.withChildren(putById(node.left, playerId, score), node.right));
+        } else if (cmp > 0) {
+            return rebalance(node.withChildren(node.left, putById(node.right, playerId, score)));
+        }
+        return ImmutablePlayerNode.create(playerId, score, node.left, node.right);
+    }
+
+    // 索引樹刪除（路徑複製）
+    private ImmutablePlayerNode removeById(ImmutablePlayerNode node, String playerId) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = playerId.compareTo(node.playerId);
+        if (cmp < 0) {
+            return rebalance(node.withChildren(removeById(node.left, playerId), node.right));
+        } else if (cmp > 0) {
+            return rebalance(node.withChildren(node.left, removeById(node.right, playerId)));
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        ImmutablePlayerNode successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        ImmutablePlayerNode newRight = removeById(node.right, successor.playerId);
+        return rebalance(ImmutablePlayerNode.create(successor.playerId, successor.score, node.left, newRight));
+    }
+
+    // 遞迴插入實現（路徑複製）
+    private ImmutablePlayerNode insertRec(ImmutablePlayerNode node, String playerId, int score) {
+        if (node == null) {
+            return ImmutablePlayerNode.create(playerId, score, null, null);
+        }
+        int cmp = compareKey(score, playerId, node);
+        if (cmp < 0) {
+            return rebalance(node.withChildren(insertRec(node.left, playerId, score), node.right));
+        } else if (cmp > 0) {
+            return rebalance(node.withChildren(node.left, insertRec(node.right, playerId, score)));
+        }
+        return node; // 相同玩家與分數
+    }
+
+    // 遞迴刪除實現（路徑複製）
+    private ImmutablePlayerNode deleteRec(ImmutablePlayerNode node, String playerId, int score) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compareKey(score, playerId, node);
+        if (cmp < 0) {
+            return rebalance(node.withChildren(deleteRec(node.left, playerId, score), node.right));
+        } else if (cmp > 0) {
+            return rebalance(node.withChildren(node.left, deleteRec(node.right, playerId, score)));
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        // 有兩個子節點，以後繼節點取代
+        ImmutablePlayerNode successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        ImmutablePlayerNode newRight = deleteRec(node.right, successor.playerId, successor.score);
+        return rebalance(ImmutablePlayerNode.create(successor.playerId, successor.score, node.left, newRight));
+    }
+
+    // 重新平衡節點
+    private ImmutablePlayerNode rebalance(ImmutablePlayerNode node) {
+        int balance = ImmutablePlayerNode.getBalanceFactor(node);
+
+        // Left Left / Left Right Case
+        if (balance > 1) {
+            if (ImmutablePlayerNode.getBalanceFactor(node.left) < 0) {
+                node = node.withChildren(leftRotate(node.left), node.right);
+            }
+            return rightRotate(node);
+        }
+
+        // Right Right / Right Left Case
+        if (balance < -1) {
+            if (ImmutablePlayerNode.getBalanceFactor(node.right) > 0) {
+                node = node.withChildren(node.left, rightRotate(node.right));
+            }
+            return leftRotate(node);
+        }
+
+        return node;
+    }
+
+    // 左旋轉（創建新節點）
+    private ImmutablePlayerNode leftRotate(ImmutablePlayerNode x) {
+        ImmutablePlayerNode y = x.right;
+        ImmutablePlayerNode newX = x.withChildren(x.left, y.left);
+        return y.withChildren(newX, y.right);
+    }
+
+    // 右旋轉（創建新節點）
+    private ImmutablePlayerNode rightRotate(ImmutablePlayerNode y) {
+        ImmutablePlayerNode x = y.left;
+        ImmutablePlayerNode newY = y.withChildren(x.right, y.right);
+        return x.withChildren(x.left, newY);
+    }
+
+    // 測試快照排行榜
+    public static void main(String[] args) throws InterruptedException {
+        SnapshotLeaderboardSystem leaderboard = new SnapshotLeaderboardSystem();
+
+        System.out.println("=== 快照排行榜測試 ===\n");
+
+        // 測試1: 基本操作
+        System.out.println("測試1: 基本操作");
+        leaderboard.addPlayer("Alice", 1500);
+        leaderboard.addPlayer("Bob", 1800);
+        leaderboard.addPlayer("Charlie", 1200);
+        leaderboard.addPlayer("David", 2000);
+        System.out.println("前3名: " + leaderboard.getTopKPlayers(3));
+        System.out.println("Alice的排名: " + leaderboard.getPlayerRank("Alice"));
+        System.out.println("第2名: " + leaderboard.getPlayerByRank(2));
+        System.out.println();
+
+        // 測試2: 舊快照不受後續寫入影響
+        System.out.println("測試2: 快照隔離");
+        Snapshot before = leaderboard.snapshot();
+        leaderboard.updatePlayerScore("Charlie", 2500);
+        leaderboard.removePlayer("Bob");
+        System.out.println("舊快照(版本 " + before.getVersion() + ")前4名: " + before.getTopKPlayers(4));
+        Snapshot after = leaderboard.snapshot();
+        System.out.println("新快照(版本 " + after.getVersion() + ")前4名: " + after.getTopKPlayers(4));
+        System.out.println();
+
+        // 測試3: 批次寫入只發佈一次
+        System.out.println("測試3: 批次寫入");
+        Map<String, Integer> batch = new LinkedHashMap<>();
+        batch.put("Eve", 1600);
+        batch.put("Frank", 1400);
+        batch.put("Alice", 2100);
+        long versionBefore = leaderboard.snapshot().getVersion();
+        leaderboard.applyUpdates(batch);
+        System.out.println("發佈次數: " + (leaderboard.snapshot().getVersion() - versionBefore));
+        versionBefore = leaderboard.snapshot().getVersion();
+        leaderboard.addPlayer("Eve", 1600);
+        System.out.println("分數未變時的發佈次數: " + (leaderboard.snapshot().getVersion() - versionBefore));
+        System.out.println("前5名: " + leaderboard.getTopKPlayers(5));
+        System.out.println();
+
+        // 測試4: 讀寫並行
+        System.out.println("測試4: 讀寫並行");
+        Thread writer = new Thread(() -> {
+            Random random = new Random(1);
+            for (int i = 0; i < 50_000; i++) {
+                leaderboard.addPlayer("P" + (i % 5000), random.nextInt(100_000));
+            }
+        });
+        writer.start();
+        int badSnapshots = 0;
+        int reads = 0;
+        while (writer.isAlive()) {
+            Snapshot snap = leaderboard.snapshot();
+            if (snap.getTopKPlayers(10).size() != Math.min(10, snap.getTotalPlayers())) {
+                badSnapshots++;
+            }
+            // 索引與排名樹同屬一個快照，排名查詢不會落空
+            if (snap.getScore("P0") != null && snap.getPlayerRank("P0") == -1) {
+                badSnapshots++;
+            }
+            reads++;
+        }
+        writer.join();
+        System.out.println("讀取次數: " + reads + ", 不一致快照數: " + badSnapshots);
+        System.out.println("總玩家數: " + leaderboard.getTotalPlayers());
+        System.out.println("是否為有效AVL樹: " + leaderboard.snapshot().isValidAVL());
+        System.out.println();
+
+        // 測試5: 邊界情況
+        System.out.println("測試5: 邊界情況");
+        System.out.println("查詢不存在的玩家排名: " + leaderboard.getPlayerRank("Unknown"));
+        System.out.println("查詢第0名: " + leaderboard.getPlayerByRank(0));
+        System.out.println("更新不存在的玩家: " + leaderboard.updatePlayerScore("Unknown", 1));
+    }
+}
@@ -0,0 +1,554 @@
+import bench.ComparisonSortTarget;
+import bench.IntDequeTarget;
+import bench.IntQueueTarget;
+import bench.IntSelectTarget;
+import bench.IntSetTarget;
+import bench.IntSortTarget;
+import bench.SchedulerTarget;
+import bench.TaskQueueTarget;
+import bench.TimerTarget;
+import bench.TopKTarget;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+import midterm.M03_TopKConvenience;
+import midterm.M11_HeapSortWithTie;
+
+/*
+ * 基準測試目標的轉接器工廠
+ * 說明：位於 default package，才能直接使用 0812 / 0814 的類別；
+ *       由 bench 套件的介面以反射呼叫一次（在 @Setup 中），之後全部是一般的介面呼叫
+ */
+public class BenchTargets {
+
+    // PersistentAVLExercise 會保留每個版本，超過此大小時堆積用量過大；
+    // 矩陣只到此大小（見 PersistentAVLBenchmark），以 -p 手動指定更大時才會丟出例外
+    static final int PERSISTENT_MAX_SIZE = 1_000_000;
+
+    // 名稱解析只做一次，回傳的 Supplier 每次 get() 只建構一個新的轉接器
+    public static Supplier<IntSetTarget> setFactory(String name) {
+        switch (name) {
+            case "AVLTree":
+                return () -> new IntSetTarget() {
+                    final AVLTree tree = new AVLTree();
+                    public void insert(int key) { tree.insert(key); }
+                    public boolean contains(int key) { return tree.search(key); }
+                };
+            case "ArrayAVLTree":
+                return () -> new IntSetTarget() {
+                    final ArrayAVLTree tree = new ArrayAVLTree();
+                    public void insert(int key) { tree.insert(key); }
+                    public boolean contains(int key) { return tree.search(key); }
+                };
+            case "AVLDeleteExercise":
+                return () -> new IntSetTarget() {
+                    final AVLDeleteExercise tree = new AVLDeleteExercise();
+                    public void insert(int key) { tree.insert(key); }
+                    public boolean contains(int key) { return tree.search(key); }
+                };
+            case "AVLRangeQueryExercise":
+                // 沒有 search，以單點範圍計數代替，同樣是 O(log n)
+                return () -> new IntSetTarget() {
+                    final AVLRangeQueryExercise tree = new AVLRangeQueryExercise();
+                    public void insert(int key) { tree.insert(key); }
+                    public boolean contains(int key) { return tree.countInRange(key, key) > 0; }
+                };
+            case "PersistentAVLExercise":
+                return () -> new IntSetTarget() {
+                    final PersistentAVLExercise tree = new PersistentAVLExercise();
+                    int version = tree.getCurrentVersion();
+                    int inserted = 0;
+                    public void insert(int key) {
+                        if (++inserted > PERSISTENT_MAX_SIZE) {
+                            throw new IllegalStateException("PersistentAVLExercise 保留所有版本，略過大小 > "
+                                    + PERSISTENT_MAX_SIZE);
+                        }
+                        version = tree.insert(key);
+                    }
+                    public boolean contains(int key) { return tree.search(version, key); }
+                };
+            case "TreeMap":
+                return () -> new IntSetTarget() {
+                    final TreeMap<Integer, Integer> map = new TreeMap<>();
+                    public void insert(int key) { map.put(key, key); }
+                    public boolean contains(int key) { return map.containsKey(key); }
+                };
+            default:
+                throw new IllegalArgumentException("未知的目標: " + name);
+        }
+    }
+
+    // 名稱可加上 "-d4"、"-d8" 等後綴指定 int[] 堆的叉數，例如 IntMinHeap-d4
+    // 名稱與叉數只解析一次，回傳的 Supplier 每次 get() 只建構一個新的空堆
+    public static Supplier<IntQueueTarget> queueFactory(String name) {
+        int suffix = name.indexOf("-d");
+        int arity = suffix >= 0 ? Integer.parseInt(name.substring(suffix + 2)) : 2;
+        switch (suffix >= 0 ? name.substring(0, suffix) : name) {
+            case "IntMinHeap":
+                return () -> intMinHeap(arity);
+            case "IntMaxHeap":
+                return () -> intMaxHeap(arity);
+            case "MinHeap":
+                // MinHeap 沒有 size()，以計數器代替
+                return () -> new IntQueueTarget() {
+                    final MinHeap heap = new MinHeap();
+                    int size;
+                    public void insert(int value) { heap.insert(value); size++; }
+                    public int poll() { size--; return heap.extractMin(); }
+                    public int size() { return size; }
+                };
+            case "MaxHeap":
+                return () -> new IntQueueTarget() {
+                    final MaxHeap heap = new MaxHeap();
+                    public void insert(int value) { heap.insert(value); }
+                    public int poll() { return heap.extractMax(); }
+                    public int size() { return heap.size(); }
+                };
+            case "PriorityQueue":
+                return () -> new IntQueueTarget() {
+                    final PriorityQueue<Integer> heap = new PriorityQueue<>();
+                    public void insert(int value) { heap.offer(value); }
+                    public int poll() { return heap.poll(); }
+                    public int size() { return heap.size(); }
+                };
+            default:
+                throw new IllegalArgumentException("未知的目標: " + name);
+        }
+    }
+
+    private static IntQueueTarget intMinHeap(int arity) {
+        return new IntQueueTarget() {
+            final IntMinHeap heap = new IntMinHeap(16, arity);
+            public void insert(int value) { heap.insert(value); }
+            public int poll() { return heap.extractMin(); }
+            public int size() { return heap.size(); }
+            public void insertAll(int[] values) { heap.insertAll(values); }
+        };
+    }
+
+    private static IntQueueTarget intMaxHeap(int arity) {
+        return new IntQueueTarget() {
+            final IntMaxHeap heap = new IntMaxHeap(16, arity);
+            public void insert(int value) { heap.insert(value); }
+            public int poll() { return heap.extractMax(); }
+            public int size() { return heap.size(); }
+            public void insertAll(int[] values) { heap.insertAll(values); }
+        };
+    }
+
+    public static IntDequeTarget createDeque(String name) {
+        switch (name) {
+            case "IntMinMaxHeap":
+                return new IntDequeTarget() {
+                    final IntMinMaxHeap heap = new IntMinMaxHeap();
+                    public void insert(int value) { heap.insert(value); }
+                    public int peekMin() { return heap.peekMin(); }
+                    public int peekMax() { return heap.peekMax(); }
+                    public int extractMin() { return heap.extractMin(); }
+                    public int extractMax() { return heap.extractMax(); }
+                    public int size() { return heap.size(); }
+                };
+            case "MinMaxHeap":
+                return new IntDequeTarget() {
+                    final MinMaxHeap<Integer> heap = new MinMaxHeap<>(Comparator.naturalOrder());
+                    public void insert(int value) { heap.offer(value); }
+                    public int peekMin() { return heap.peekMin(); }
+                    public int peekMax() { return heap.peekMax(); }
+                    public int extractMin() { return heap.pollMin(); }
+                    public int extractMax() { return heap.pollMax(); }
+                    public int size() { return heap.size(); }
+                };
+            case "IntMinHeap+IntMaxHeap":
+                return new HeapPair() {
+                    final IntMinHeap min = new IntMinHeap();
+                    final IntMaxHeap max = new IntMaxHeap();
+                    void insertBoth(int value) { min.insert(value); max.insert(value); }
+                    int minTop() { return min.peek(); }
+                    int pollMinHeap() { return min.extractMin(); }
+                    int maxTop() { return max.peek(); }
+                    int pollMaxHeap() { return max.extractMax(); }
+                };
+            case "MinHeap+MaxHeap":
+                return new HeapPair() {
+                    final MinHeap min = new MinHeap();
+                    final MaxHeap max = new MaxHeap();
+                    void insertBoth(int value) { min.insert(value); max.insert(value); }
+                    int minTop() { return min.peek(); }
+                    int pollMinHeap() { return min.extractMin(); }
+                    int maxTop() { return max.peek(); }
+                    int pollMaxHeap() { return max.extractMax(); }
+                };
+            default:
+                throw new IllegalArgumentException("未知的目標: " + name);
+        }
+    }
+
+    // 兩個堆各存一份：從一端取出的值記入另一個堆的待刪計數表，等它到達該堆堆頂時才真正丟棄
+    abstract static class HeapPair implements IntDequeTarget {
+        final Map<Integer, Integer> staleInMin = new HashMap<>();
+        final Map<Integer, Integer> staleInMax = new HashMap<>();
+        int size;
+
+        abstract void insertBoth(int value);
+        abstract int minTop();
+        abstract int pollMinHeap();
+        abstract int maxTop();
+        abstract int pollMaxHeap();
+
+        public void insert(int value) {
+            insertBoth(value);
+            size++;
+        }
+
+        public int peekMin() {
+            while (consume(staleInMin, minTop())) {
+                pollMinHeap();
+            }
+            return minTop();
+        }
+
+        public int peekMax() {
+            while (consume(staleInMax, maxTop())) {
+                pollMaxHeap();
+            }
+            return maxTop();
+        }
+
+        public int extractMin() {
+            peekMin();
+            int value = pollMinHeap();
+            staleInMax.merge(value, 1, Integer::sum);
+            size--;
+            return value;
+        }
+
+        public int extractMax() {
+            peekMax();
+            int value = pollMaxHeap();
+            staleInMin.merge(value, 1, Integer::sum);
+            size--;
+            return value;
+        }
+
+        public int size() { return size; }
+
+        // top 若在待刪表中則扣掉一次並回傳 true
+        private static boolean consume(Map<Integer, Integer> stale, int top) {
+            Integer count = stale.get(top);
+            if (count == null) {
+                return false;
+            }
+            if (count == 1) {
+                stale.remove(top);
+            } else {
+                stale.put(top, count - 1);
+            }
+            return true;
+        }
+    }
+
+    // 第 k 大選擇演算法；KthLargest-d4 等後綴指定 int[] 堆的叉數
+    public static IntSelectTarget createSelect(String name) {
+        if (name.startsWith("KthLargest-d")) {
+            int arity = Integer.parseInt(name.substring("KthLargest-d".length()));
+            return (nums, k) -> KthLargest.findKthLargest(nums, k, arity);
+        }
+        switch (name) {
+            case "Introselect":
+                return (nums, k) -> KthLargest.findKthLargestByIntroselect(nums, k, true);
+            case "QuickSelect":
+                return KthLargest::findKthLargestByQuickSelect;
+            case "Arrays.sort":
+                return (nums, k) -> {
+                    Arrays.sort(nums);
+                    return nums[nums.length - k];
+                };
+            default:
+                throw new IllegalArgumentException("未知的目標: " + name);
+        }
+    }
+
+    public static IntSortTarget createSort(String name) {
+        switch (name) {
+            case "HeapSort":
+                return HeapSort::sort;
+            case "HeapSort.sortBottomUp":
+                return HeapSort::sortBottomUp;
+            case "ParallelHeapSort":
+                return ParallelHeapSort::sort;
+            case "M11":
+                return values -> M11_HeapSortWithTie.heapSort(values, M11_HeapSortWithTie.SCORE_ORDER, true);
+            case "M11-packed":
+                return M11_HeapSortWithTie::heapSortPacked;
+            case "M11-packed-reuse":
+                // 暫存陣列只在第一次（或變大時）配置
+                return new IntSortTarget() {
+                    long[] buffer = new long[0];
+                    public void sort(int[] values) {
+                        if (buffer.length < values.length) {
+                            buffer = new long[values.length];
+                        }
+                        M11_HeapSortWithTie.heapSortPacked(values, buffer);
+                    }
+                };
+            case "Arrays.sort":
+                return Arrays::sort;
+            case "Arrays.parallelSort":
+                return Arrays::parallelSort;
+            default:
+                throw new IllegalArgumentException("未知的目標: " + name);
+        }
+    }
+
+    // 以計數的 Comparator 包裝排序，回傳比較次數
+    public static ComparisonSortTarget createComparisonSort(String name) {
+        switch (name) {
+            case "HeapSort.sort":
+                return values -> sortBoxed(values, false);
+            case "HeapSort.sortBottomUp":
+                return values -> sortBoxed(values, true);
+            case "M11":
+                return values -> sortScores(values, false);
+            case "M11-bottomUp":
+                return values -> sortScores(values, true);
+            default:
+                throw new IllegalArgumentException("未知的目標: " + name);
+        }
+    }
+
+    static final class CountingComparator<T> implements Comparator<T> {
+        final Comparator<? super T> order;
+        long count;
+
+        CountingComparator(Comparator<? super T> order) {
+            this.order = order;
+        }
+
+        public int compare(T a, T b) {
+            count++;
+            return order.compare(a, b);
+        }
+    }
+
+    private static long sortBoxed(int[] values, boolean bottomUp) {
+        Integer[] boxed = new Integer[values.length];
+        for (int i = 0; i < values.length; i++) {
+            boxed[i] = values[i];
+        }
+        CountingComparator<Integer> cmp = new CountingComparator<>(Comparator.naturalOrder());
+        if (bottomUp) {
+            HeapSort.sortBottomUp(boxed, cmp);
+        } else {
+            HeapSort.sort(boxed, cmp);
+        }
+        for (int i = 0; i < values.length; i++) {
+            values[i] = boxed[i];
+        }
+        return cmp.count;
+    }
+
+    private static long sortScores(int[] values, boolean bottomUp) {
+        CountingComparator<M11_HeapSortWithTie.Score> cmp =
+                new CountingComparator<>(M11_HeapSortWithTie.SCORE_ORDER);
+        M11_HeapSortWithTie.heapSort(values, cmp, bottomUp);
+        return cmp.count;
+    }
+
+    // Top-K：int[] 與 M03 的 Item 兩種輸入；Item 名稱取自 1024 個共用字串，同銷量時仍需比較名稱
+    public static TopKTarget createTopK(String name) {
+        switch (name) {
+            case "ParallelTopK":
+                return new TopKTarget() {
+                    int[] values;
+                    public void load(int[] values) { this.values = values; }
+                    public Object run(int k, ForkJoinPool pool) { return ParallelTopK.kthLargest(values, k, pool); }
+                };
+            case "KthLargest-d2":
+                return new TopKTarget() {
+                    int[] values;
+                    public void load(int[] values) { this.values = values; }
+                    public Object run(int k, ForkJoinPool pool) { return KthLargest.findKthLargest(values, k, 2); }
+                };
+            case "M03.parallel":
+                return new TopKTarget() {
+                    List<M03_TopKConvenience.Item> items;
+                    public void load(int[] values) {
+                        String[] names = new String[1024];
+                        for (int i = 0; i < names.length; i++) {
+                            names[i] = "item" + i;
+                        }
+                        items = new ArrayList<>(values.length);
+                        for (int i = 0; i < values.length; i++) {
+                            items.add(new M03_TopKConvenience.Item(names[i & 1023], values[i] >>> 12));
+                        }
+                    }
+                    public Object run(int k, ForkJoinPool pool) {
+                        return M03_TopKConvenience.findTopKItemsParallel(items, k, pool);
+                    }
+                };
+            default:
+                throw new IllegalArgumentException("未知的目標: " + name);
+        }
+    }
+
+    // 任務佇列：IndexedTaskHeap（可加 -d4 等後綴）與 BucketTaskQueue（1024 層）以 Task.queueIndex 定位；
+    // PriorityQueue 以 remove(Object) 線性搜尋後重新 offer
+    public static TaskQueueTarget createTaskQueue(String name) {
+        int arity = 2;
+        int suffix = name.indexOf("-d");
+        if (suffix >= 0) {
+            arity = Integer.parseInt(name.substring(suffix + 2));
+            name = name.substring(0, suffix);
+        }
+        switch (name) {
+            case "IndexedTaskHeap":
+                return taskQueue(new IndexedTaskHeap(arity, TaskScheduler.TASK_ORDER));
+            case "BucketTaskQueue":
+                return taskQueue(new BucketTaskQueue(1024));
+            case "PriorityQueue":
+                return new TaskQueueTarget() {
+                    final PriorityQueue<Task> heap = new PriorityQueue<>(TaskScheduler.TASK_ORDER);
+                    Task[] tasks = new Task[16];
+                    long sequence;
+                    public void add(int id, int priority) { heap.offer(track(id, priority)); }
+                    public void changePriority(int id, int priority) {
+                        Task task = tasks[id];
+                        heap.remove(task);
+                        task.priority = priority;
+                        heap.offer(task);
+                    }
+                    public void cancel(int id) { heap.remove(tasks[id]); }
+                    public int poll() { return heap.poll().id; }
+                    public int size() { return heap.size(); }
+                    Task track(int id, int priority) {
+                        if (id >= tasks.length) {
+                            tasks = Arrays.copyOf(tasks, Math.max(id + 1, tasks.length * 2));
+                        }
+                        return tasks[id] = new Task(id, "bench", priority, sequence++);
+                    }
+                };
+            default:
+                throw new IllegalArgumentException("未知的目標: " + name);
+        }
+    }
+
+    public static SchedulerTarget createScheduler(String name) {
+        switch (name) {
+            case "TaskScheduler":
+                return new SchedulerTarget() {
+                    final TaskScheduler scheduler = new TaskScheduler();
+                    public void submit(int priority) { scheduler.addTask("bench", priority); }
+                    public boolean runNext() { return scheduler.executeNextTask() != null; }
+                };
+            case "ConcurrentTaskScheduler":
+                return new SchedulerTarget() {
+                    final ConcurrentTaskScheduler scheduler = new ConcurrentTaskScheduler();
+                    public void submit(int priority) { scheduler.addTask("bench", priority); }
+                    public boolean runNext() { return scheduler.executeNextTask() != null; }
+                };
+            case "SchedulerMetrics":
+                // 只呼叫記錄方法，同一個任務物件反覆入列 / 出列
+                return new SchedulerTarget() {
+                    final SchedulerMetrics metrics = new SchedulerMetrics();
+                    final Task task = new Task(0, "bench", 0, 0);
+                    public void submit(int priority) {
+                        task.priority = priority;
+                        metrics.onEnqueue(task);
+                    }
+                    public boolean runNext() {
+                        metrics.onDequeue(task);
+                        return true;
+                    }
+                };
+            default:
+                throw new IllegalArgumentException("未知的目標: " + name);
+        }
+    }
+
+    private static TaskQueueTarget taskQueue(TaskQueue queue) {
+        return new TaskQueueTarget() {
+            Task[] tasks = new Task[16];
+            long sequence;
+            public void add(int id, int priority) { queue.offer(track(id, priority)); }
+            public void changePriority(int id, int priority) {
+                Task task = tasks[id];
+                task.priority = priority;
+                queue.update(task);
+            }
+            public void cancel(int id) { queue.remove(tasks[id]); }
+            public int poll() { return queue.poll().id; }
+            public int size() { return queue.size(); }
+            Task track(int id, int priority) {
+                if (id >= tasks.length) {
+                    tasks = Arrays.copyOf(tasks, Math.max(id + 1, tasks.length * 2));
+                }
+                return tasks[id] = new Task(id, "bench", priority, sequence++);
+            }
+        };
+    }
+
+    // 堆積式計時器（對照組）：取消只做標記，到期時跳過，與 ScheduledThreadPoolExecutor 預設做法相同
+    static final class HeapTimer {
+        final long deadline;
+        boolean cancelled;
+
+        HeapTimer(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+
+    public static TimerTarget createTimer(String name) {
+        switch (name) {
+            case "TimingWheel":
+                return new TimerTarget() {
+                    final TimingWheel<Object> wheel = new TimingWheel<>(0);
+                    public Object schedule(long deadline) { return wheel.schedule(null, deadline); }
+                    @SuppressWarnings("unchecked")
+                    public void cancel(Object handle) { wheel.cancel((TimingWheel.Timeout<Object>) handle); }
+                    public int advanceTo(long nowTick) { return wheel.advanceTo(nowTick, payload -> { }); }
+                    public int size() { return wheel.size(); }
+                };
+            case "PriorityQueue":
+                return new TimerTarget() {
+                    final PriorityQueue<HeapTimer> heap =
+                            new PriorityQueue<>((a, b) -> Long.compare(a.deadline, b.deadline));
+                    int size;
+                    public Object schedule(long deadline) {
+                        HeapTimer timer = new HeapTimer(deadline);
+                        heap.offer(timer);
+                        size++;
+                        return timer;
+                    }
+                    public void cancel(Object handle) {
+                        HeapTimer timer = (HeapTimer) handle;
+                        if (!timer.cancelled) {
+                            timer.cancelled = true;
+                            size--;
+                        }
+                    }
+                    public int advanceTo(long nowTick) {
+                        int expired = 0;
+                        while (!heap.isEmpty() && heap.peek().deadline <= nowTick) {
+                            if (!heap.poll().cancelled) {
+                                size--;
+                                expired++;
+                            }
+                        }
+                        return expired;
+                    }
+                    public int size() { return size; }
+                };
+            default:
+                throw new IllegalArgumentException("未知的目標: " + name);
+        }
+    }
+}
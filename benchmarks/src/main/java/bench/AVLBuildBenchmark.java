@@ -0,0 +1,50 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+ * 由空樹插入 size 個鍵的建樹時間
+ * 說明：每次呼叫建一棵新樹，平均每鍵成本 = 分數 / size；
+ *       搭配 -prof gc 時 gc.alloc.rate.norm 為每棵樹的配置位元組數
+ * 執行：java -jar benchmarks/target/benchmarks.jar AVLBuildBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class AVLBuildBenchmark {
+
+    // PersistentAVLExercise 最多 1e6 個鍵，另見 PersistentAVLBenchmark
+    @Param({"AVLTree", "ArrayAVLTree", "AVLDeleteExercise", "AVLRangeQueryExercise", "TreeMap"})
+    public String target;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"random", "sequential", "zipfian"})
+    public KeyDistribution distribution;
+
+    private int[] keys;
+    private Supplier<IntSetTarget> factory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        keys = distribution.keys(size, new Random(42));
+        factory = IntSetTarget.factory(target);
+    }
+
+    @Benchmark
+    public IntSetTarget build() {
+        IntSetTarget set = factory.get();
+        for (int key : keys) {
+            set.insert(key);
+        }
+        return set;
+    }
+}
@@ -0,0 +1,53 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * AVL 各實作與 TreeMap 的搜尋吞吐量
+ * 說明：Trial 開始時以指定分布建好大小為 size 的樹，之後每次呼叫查詢一個鍵；
+ *       查詢序列預先產生、循環使用，回傳值交給 JMH 避免被當成死碼消除
+ * 執行：java -jar benchmarks/target/benchmarks.jar AVLSearchBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class AVLSearchBenchmark {
+
+    private static final int PROBES = 1 << 16;
+
+    // PersistentAVLExercise 最多 1e6 個鍵，另見 PersistentAVLBenchmark
+    @Param({"AVLTree", "ArrayAVLTree", "AVLDeleteExercise", "AVLRangeQueryExercise", "TreeMap"})
+    public String target;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"random", "sequential", "zipfian"})
+    public KeyDistribution distribution;
+
+    private IntSetTarget set;
+    private int[] probes;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rnd = new Random(42);
+        int[] keys = distribution.keys(size, rnd);
+        set = IntSetTarget.create(target);
+        for (int key : keys) {
+            set.insert(key);
+        }
+        probes = distribution.probes(keys, PROBES, rnd);
+    }
+
+    @Benchmark
+    public boolean search() {
+        return set.contains(probes[index++ & (PROBES - 1)]);
+    }
+}
@@ -0,0 +1,36 @@
+package bench;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.function.Supplier;
+
+/*
+ * 以反射呼叫 default package 的 BenchTargets 工廠方法
+ * 每次呼叫都經過 Class.forName / getMethod / invoke，只能在 @Setup 中使用；
+ * 量測中需要反覆建立新目標時，在 @Setup 以 factory 取得 Supplier，量測中只呼叫 get()
+ */
+final class Bridge {
+
+    private Bridge() {
+    }
+
+    static Object create(String factory, String name) {
+        try {
+            return Class.forName("BenchTargets")
+                    .getMethod(factory, String.class)
+                    .invoke(null, name);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("找不到 BenchTargets." + factory, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> Supplier<T> factory(String factory, String name) {
+        return (Supplier<T>) create(factory, name);
+    }
+}
@@ -0,0 +1,15 @@
+package bench;
+
+/*
+ * 以 Comparator 排序的基準測試介面，由 BenchTargets.createComparisonSort 建立轉接器
+ */
+@FunctionalInterface
+public interface ComparisonSortTarget {
+
+    // 原地遞增排序 values，回傳這次排序的比較次數
+    long sort(int[] values);
+
+    static ComparisonSortTarget create(String name) {
+        return (ComparisonSortTarget) Bridge.create("createComparisonSort", name);
+    }
+}
@@ -0,0 +1,82 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+ * 二元堆與 4/8 叉堆的比較（IntMinHeap 與以其實作的 KthLargest.findKthLargest）
+ * offerPoll:  維持 size 個元素，插入一個亂數並取出最小值；堆大於快取後每層一次快取未命中，
+ *             叉數越大樹越矮
+ * heapify:    以 insertAll 由 size 個亂數建堆（Floyd bottom-up）
+ * kthLargest: size 個亂數中找第 size/100 大，堆大小為 k
+ * 執行：java -jar benchmarks/target/benchmarks.jar DaryHeapBenchmark
+ *      100M 需要約 1.2 GB heap（資料 + 堆），已以 -Xmx4g 啟動
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class DaryHeapBenchmark {
+
+    @Param({"2", "4", "8"})
+    public int arity;
+
+    @Param({"10000", "1000000", "100000000"})
+    public int size;
+
+    private int[] values;
+    private IntQueueTarget steady;
+    private Supplier<IntQueueTarget> factory;
+    private IntSelectTarget select;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rnd = new Random(42);
+        values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = rnd.nextInt();
+        }
+        factory = IntQueueTarget.factory("IntMinHeap-d" + arity);
+        steady = factory.get();
+        steady.insertAll(values);
+        select = IntSelectTarget.create("KthLargest-d" + arity);
+    }
+
+    @TearDown(Level.Iteration)
+    public void dropBuiltHeaps() {
+        System.gc();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int offerPoll() {
+        int i = index++;
+        if (index == size) {
+            index = 0;
+        }
+        steady.insert(values[i]);
+        return steady.poll();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public IntQueueTarget heapify() {
+        IntQueueTarget heap = factory.get();
+        heap.insertAll(values);
+        return heap;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int kthLargest() {
+        // findKthLargest 不修改 nums，可直接重複使用
+        return select.kthLargest(values, size / 100);
+    }
+}
@@ -0,0 +1,61 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 教科書版與由下而上（Floyd）堆排序的比較次數與時間
+ * HeapSort.sort / sortBottomUp:   Integer[] 加 Comparator
+ * M11 / M11-bottomUp:             M11_HeapSortWithTie 的 Score（分數 + 索引平手處理）
+ * 分數取 0..999，大量同分，比較常需要看第二個欄位
+ * comparisons 為最後一次排序的比較次數（由 Comparator 包裝計數）；兩種版本都含裝箱 / 建立 Score 的成本
+ * 執行：java -jar benchmarks/target/benchmarks.jar HeapSortComparisonBenchmark
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class HeapSortComparisonBenchmark {
+
+    @Param({"HeapSort.sort", "HeapSort.sortBottomUp", "M11", "M11-bottomUp"})
+    public String target;
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    private int[] values;
+    private int[] work;
+    private ComparisonSortTarget sorter;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long comparisons;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rnd = new Random(42);
+        values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = rnd.nextInt(1000);
+        }
+        work = new int[size];
+        sorter = ComparisonSortTarget.create(target);
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(values, 0, work, 0, size);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int[] sort(Counters counters) {
+        counters.comparisons = sorter.sort(work);
+        return work;
+    }
+}
@@ -0,0 +1,23 @@
+package bench;
+
+/*
+ * 基準測試用的整數雙端優先佇列介面，由 BenchTargets.createDeque 建立轉接器
+ */
+public interface IntDequeTarget {
+
+    void insert(int value);
+
+    int peekMin();
+
+    int peekMax();
+
+    int extractMin();
+
+    int extractMax();
+
+    int size();
+
+    static IntDequeTarget create(String name) {
+        return (IntDequeTarget) Bridge.create("createDeque", name);
+    }
+}
@@ -0,0 +1,76 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+ * int[] 堆積與 List<Integer> 堆積、PriorityQueue<Integer> 的比較
+ * offerPoll: 維持 size 個元素，每次插入一個亂數並取出堆頂（吞吐量）
+ * fill:      由空堆逐一插入 size 個元素；-prof gc 的 gc.alloc.rate.norm / size 即每元素配置位元組
+ * fillBulk:  同上但使用 insertAll（不支援的實作退回逐一插入）
+ * 執行：java -jar benchmarks/target/benchmarks.jar IntHeapBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class IntHeapBenchmark {
+
+    @Param({"IntMinHeap", "IntMaxHeap", "MinHeap", "MaxHeap", "PriorityQueue"})
+    public String target;
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private int[] values;
+    private IntQueueTarget steady;
+    private Supplier<IntQueueTarget> factory;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rnd = new Random(42);
+        values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = rnd.nextInt();
+        }
+        factory = IntQueueTarget.factory(target);
+        steady = factory.get();
+        steady.insertAll(values);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int offerPoll() {
+        int i = index++;
+        if (index == size) {
+            index = 0;
+        }
+        steady.insert(values[i]);
+        return steady.poll();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public IntQueueTarget fill() {
+        IntQueueTarget heap = factory.get();
+        for (int value : values) {
+            heap.insert(value);
+        }
+        return heap;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public IntQueueTarget fillBulk() {
+        IntQueueTarget heap = factory.get();
+        heap.insertAll(values);
+        return heap;
+    }
+}
@@ -0,0 +1,31 @@
+package bench;
+
+import java.util.function.Supplier;
+
+/*
+ * 基準測試用的整數優先佇列介面，由 BenchTargets.queueFactory 建立轉接器
+ */
+public interface IntQueueTarget {
+
+    void insert(int value);
+
+    // 取出堆頂（Min Heap 為最小值，Max Heap 為最大值）
+    int poll();
+
+    int size();
+
+    default void insertAll(int[] values) {
+        for (int value : values) {
+            insert(value);
+        }
+    }
+
+    static IntQueueTarget create(String name) {
+        return factory(name).get();
+    }
+
+    // 在 @Setup 中取得，量測中每次 get() 只建構新的空堆
+    static Supplier<IntQueueTarget> factory(String name) {
+        return Bridge.factory("queueFactory", name);
+    }
+}
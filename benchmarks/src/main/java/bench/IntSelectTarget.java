@@ -0,0 +1,15 @@
+package bench;
+
+/*
+ * 基準測試用的第 k 大選擇介面，由 BenchTargets.createSelect 建立轉接器
+ */
+@FunctionalInterface
+public interface IntSelectTarget {
+
+    // 回傳 nums 中第 k 大的值（1 <= k <= nums.length），實作可能會重排 nums
+    int kthLargest(int[] nums, int k);
+
+    static IntSelectTarget create(String name) {
+        return (IntSelectTarget) Bridge.create("createSelect", name);
+    }
+}
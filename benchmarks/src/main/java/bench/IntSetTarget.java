@@ -0,0 +1,26 @@
+package bench;
+
+import java.util.function.Supplier;
+
+/*
+ * 基準測試用的整數集合介面
+ * 說明：專案中的資料結構位於 default package，具名套件無法直接引用，
+ *       因此由 default package 的 BenchTargets 建立實作此介面的轉接器；
+ *       每個 JMH fork 只會用到一種實作，呼叫點維持單型，JIT 可內聯
+ */
+public interface IntSetTarget {
+
+    void insert(int key);
+
+    boolean contains(int key);
+
+    // 建立指定名稱的轉接器，名稱見 BenchTargets
+    static IntSetTarget create(String name) {
+        return factory(name).get();
+    }
+
+    // 在 @Setup 中取得，量測中每次 get() 只建構新的空集合
+    static Supplier<IntSetTarget> factory(String name) {
+        return Bridge.factory("setFactory", name);
+    }
+}
@@ -0,0 +1,15 @@
+package bench;
+
+/*
+ * 基準測試用的 int[] 排序介面，由 BenchTargets.createSort 建立轉接器
+ */
+@FunctionalInterface
+public interface IntSortTarget {
+
+    // 原地遞增排序
+    void sort(int[] values);
+
+    static IntSortTarget create(String name) {
+        return (IntSortTarget) Bridge.create("createSort", name);
+    }
+}
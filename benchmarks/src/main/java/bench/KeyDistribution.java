@@ -0,0 +1,95 @@
+package bench;
+
+import java.util.Random;
+
+/*
+ * 鍵值分布
+ * random:     均勻隨機的 int
+ * sequential: 0, 1, 2, ... 依序遞增（AVL 最常觸發旋轉的插入順序）
+ * zipfian:    在 n 個鍵上的 Zipf 分布（s = 0.99），少數熱門鍵佔大部分存取
+ */
+public enum KeyDistribution {
+    random {
+        @Override
+        int[] keys(int n, Random rnd) {
+            int[] keys = new int[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = rnd.nextInt();
+            }
+            return keys;
+        }
+    },
+    sequential {
+        @Override
+        int[] keys(int n, Random rnd) {
+            int[] keys = new int[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = i;
+            }
+            return keys;
+        }
+    },
+    zipfian {
+        @Override
+        int[] keys(int n, Random rnd) {
+            Zipf zipf = new Zipf(n, 0.99);
+            int[] keys = new int[n];
+            for (int i = 0; i < n; i++) {
+                // 以乘法雜湊打散排名，避免熱門鍵恰好是最小的鍵
+                keys[i] = zipf.next(rnd) * 0x9E3779B1;
+            }
+            return keys;
+        }
+    };
+
+    // 產生 n 個插入用的鍵
+    abstract int[] keys(int n, Random rnd);
+
+    // 產生查詢序列：一半取自已插入的鍵，一半為同分布的新抽樣
+    int[] probes(int[] inserted, int count, Random rnd) {
+        int[] fresh = keys(Math.max(inserted.length, 1), rnd);
+        int[] probes = new int[count];
+        for (int i = 0; i < count; i++) {
+            probes[i] = (i & 1) == 0
+                    ? inserted[rnd.nextInt(inserted.length)]
+                    : fresh[rnd.nextInt(fresh.length)];
+        }
+        return probes;
+    }
+
+    // Gray 等人 "Quickly generating billion-record synthetic databases" 的 Zipf 產生器
+    static final class Zipf {
+        private final int n;
+        private final double theta, alpha, zetan, eta;
+
+        Zipf(int n, double theta) {
+            this.n = n;
+            this.theta = theta;
+            double zeta2 = zeta(2, theta);
+            this.zetan = zeta(n, theta);
+            this.alpha = 1.0 / (1.0 - theta);
+            this.eta = (1 - Math.pow(2.0 / n, 1 - theta)) / (1 - zeta2 / zetan);
+        }
+
+        private static double zeta(int n, double theta) {
+            double sum = 0;
+            for (int i = 1; i <= n; i++) {
+                sum += 1 / Math.pow(i, theta);
+            }
+            return sum;
+        }
+
+        // 回傳 [0, n) 的排名，0 最熱門
+        int next(Random rnd) {
+            double u = rnd.nextDouble();
+            double uz = u * zetan;
+            if (uz < 1.0) {
+                return 0;
+            }
+            if (uz < 1.0 + Math.pow(0.5, theta)) {
+                return 1;
+            }
+            return (int) (n * Math.pow(eta * u - eta + 1, alpha)) % n;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 雙端優先佇列：單一陣列的最小-最大堆對「Min Heap 與 Max Heap 各存一份」（另一端以計數表延遲刪除）
+ * bothEnds:    維持 size 個元素，插入兩個亂數後各取出一次最小值與最大值
+ * minPeekMax:  維持 size 個元素，插入一個亂數、查看最大值並取出最小值（只消費一端、監看另一端）
+ * 執行：java -jar benchmarks/target/benchmarks.jar MinMaxHeapBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MinMaxHeapBenchmark {
+
+    private static final int OPS = 1 << 20;
+
+    @Param({"IntMinMaxHeap", "MinMaxHeap", "IntMinHeap+IntMaxHeap", "MinHeap+MaxHeap"})
+    public String target;
+
+    @Param({"1000", "1000000"})
+    public int size;
+
+    private int[] values;
+    private IntDequeTarget heap;
+    private int index;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        Random rnd = new Random(42);
+        values = new int[OPS];
+        for (int i = 0; i < OPS; i++) {
+            values[i] = rnd.nextInt();
+        }
+        // 每輪重建：兩個堆的做法會累積尚未清除的過期元素
+        heap = IntDequeTarget.create(target);
+        for (int i = 0; i < size; i++) {
+            heap.insert(values[i & (OPS - 1)]);
+        }
+        index = 0;
+    }
+
+    @Benchmark
+    public int bothEnds() {
+        heap.insert(values[index++ & (OPS - 1)]);
+        heap.insert(values[index++ & (OPS - 1)]);
+        return heap.extractMin() + heap.extractMax();
+    }
+
+    @Benchmark
+    public int minPeekMax() {
+        heap.insert(values[index++ & (OPS - 1)]);
+        return heap.peekMax() + heap.extractMin();
+    }
+}
@@ -0,0 +1,82 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+ * PersistentAVLExercise 的建樹與搜尋，量測方式同 AVLBuildBenchmark / AVLSearchBenchmark
+ * 說明：每次插入都保留一個版本，堆積用量隨插入次數成長，大小只到 1e6（BenchTargets.PERSISTENT_MAX_SIZE）；
+ *       分開成獨立的類別，其餘實作的矩陣才能量到 1e7 而不出現註定失敗的組合
+ * build:  由空樹插入 size 個鍵（AverageTime，搭配 -prof gc 時 gc.alloc.rate.norm 為每棵樹含所有版本的配置量）
+ * search: 在最新版本中查詢一個鍵（吞吐量）
+ * 執行：java -jar benchmarks/target/benchmarks.jar PersistentAVLBenchmark -prof gc
+ */
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class PersistentAVLBenchmark {
+
+    private static final String TARGET = "PersistentAVLExercise";
+    private static final int PROBES = 1 << 16;
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"1000", "10000", "100000", "1000000"})
+        public int size;
+
+        @Param({"random", "sequential", "zipfian"})
+        public KeyDistribution distribution;
+
+        int[] keys;
+        int[] probes; // 與 AVLSearchBenchmark 相同的查詢序列
+        Supplier<IntSetTarget> factory;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random rnd = new Random(42);
+            keys = distribution.keys(size, rnd);
+            probes = distribution.probes(keys, PROBES, rnd);
+            factory = IntSetTarget.factory(TARGET);
+        }
+    }
+
+    // search 用：整個試驗只建一次樹，查詢序列循環使用
+    @State(Scope.Benchmark)
+    public static class Built {
+        IntSetTarget set;
+        int[] probes;
+        int index;
+
+        @Setup(Level.Trial)
+        public void setUp(Input input) {
+            set = input.factory.get();
+            for (int key : input.keys) {
+                set.insert(key);
+            }
+            probes = input.probes;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public IntSetTarget build(Input input) {
+        IntSetTarget set = input.factory.get();
+        for (int key : input.keys) {
+            set.insert(key);
+        }
+        return set;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public boolean search(Built built) {
+        return built.set.contains(built.probes[built.index++ & (PROBES - 1)]);
+    }
+}
@@ -0,0 +1,62 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 待執行任務的優先級調整與取消：IndexedTaskHeap（O(log n)）、BucketTaskQueue 對 PriorityQueue remove + offer（O(n)）
+ * changePriority: 隨機挑一個待執行任務改成隨機優先級
+ * cancelReadd:    隨機取消一個任務再以新優先級加回，維持佇列大小
+ * 執行：java -jar benchmarks/target/benchmarks.jar ReprioritizeBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ReprioritizeBenchmark {
+
+    private static final int OPS = 1 << 16;
+
+    @Param({"IndexedTaskHeap", "BucketTaskQueue", "PriorityQueue"})
+    public String target;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private TaskQueueTarget queue;
+    private int[] ids;
+    private int[] priorities;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rnd = new Random(42);
+        queue = TaskQueueTarget.create(target);
+        for (int id = 0; id < size; id++) {
+            queue.add(id, rnd.nextInt(1000));
+        }
+        ids = new int[OPS];
+        priorities = new int[OPS];
+        for (int i = 0; i < OPS; i++) {
+            ids[i] = rnd.nextInt(size);
+            priorities[i] = rnd.nextInt(1000);
+        }
+    }
+
+    @Benchmark
+    public void changePriority() {
+        int i = next++ & (OPS - 1);
+        queue.changePriority(ids[i], priorities[i]);
+    }
+
+    @Benchmark
+    public void cancelReadd() {
+        int i = next++ & (OPS - 1);
+        queue.cancel(ids[i]);
+        queue.add(ids[i], priorities[i]);
+    }
+}
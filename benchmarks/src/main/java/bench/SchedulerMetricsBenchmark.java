@@ -0,0 +1,52 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 排程器監控數據的成本：維持 size 個待執行任務，每次提交一個並取出一個
+ * TaskScheduler / ConcurrentTaskScheduler: 完整排程器（含佇列、查找表與 SchedulerMetrics）
+ * SchedulerMetrics:                        只有入列 / 出列記錄（兩次 nanoTime、深度與計數、直方圖），即每個任務的監控成本
+ * 執行：java -jar benchmarks/target/benchmarks.jar SchedulerMetricsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SchedulerMetricsBenchmark {
+
+    private static final int OPS = 1 << 16;
+
+    @Param({"TaskScheduler", "ConcurrentTaskScheduler", "SchedulerMetrics"})
+    public String target;
+
+    @Param({"1000"})
+    public int size;
+
+    private SchedulerTarget scheduler;
+    private int[] priorities;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rnd = new Random(42);
+        scheduler = SchedulerTarget.create(target);
+        priorities = new int[OPS];
+        for (int i = 0; i < OPS; i++) {
+            priorities[i] = rnd.nextInt(10);
+        }
+        for (int i = 0; i < size; i++) {
+            scheduler.submit(priorities[i & (OPS - 1)]);
+        }
+    }
+
+    @Benchmark
+    public boolean submitRun() {
+        scheduler.submit(priorities[next++ & (OPS - 1)]);
+        return scheduler.runNext();
+    }
+}
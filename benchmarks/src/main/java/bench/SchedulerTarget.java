@@ -0,0 +1,17 @@
+package bench;
+
+/*
+ * 基準測試用的排程器介面，由 BenchTargets.createScheduler 建立轉接器
+ */
+public interface SchedulerTarget {
+
+    // 提交一個沒有工作內容的任務
+    void submit(int priority);
+
+    // 取出並執行下一個任務，沒有任務時回傳 false
+    boolean runNext();
+
+    static SchedulerTarget create(String name) {
+        return (SchedulerTarget) Bridge.create("createScheduler", name);
+    }
+}
@@ -0,0 +1,102 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 第 k 大選擇（k = size / 100）在不同輸入形狀下的比較
+ * Introselect:   KthLargest.findKthLargestByIntroselect（原地）
+ * QuickSelect:   KthLargest.findKthLargestByQuickSelect（固定以最後一個元素為樞紐、遞迴）
+ * KthLargest-d2: KthLargest.findKthLargest(nums, k, 2)，大小為 k 的 int[] Min Heap
+ * Arrays.sort:   排序後直接取值（對照組）
+ * 方法1 / 方法2 每一步都輸出整個堆，無法量測大資料，不列入
+ * QuickSelect 在已排序、反向與大量重複輸入下為 O(n²) 且遞迴深度 O(n)，
+ * 不放進 target × input 矩陣，另以 quickSelect 只量測 random
+ * 每次呼叫前把輸入複製到工作陣列（不計時），原地演算法不會看到已部分排序的資料
+ * 執行：java -jar benchmarks/target/benchmarks.jar SelectBenchmark -p size=100000000
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "-Xss16m"})
+public class SelectBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"Introselect", "KthLargest-d2", "Arrays.sort"})
+        public String target;
+
+        // random: 均勻亂數；sorted / reversed: 遞增 / 遞減；duplicates: 只有 16 種值
+        @Param({"random", "sorted", "reversed", "duplicates"})
+        public String input;
+
+        @Param({"1000000", "100000000"})
+        public int size;
+
+        int[] values;
+        int[] work;
+        IntSelectTarget select;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            values = values(input, size);
+            work = new int[size];
+            select = IntSelectTarget.create(target);
+        }
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            System.arraycopy(values, 0, work, 0, size);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RandomInput {
+        @Param({"1000000", "100000000"})
+        public int size;
+
+        int[] values;
+        int[] work;
+        IntSelectTarget select;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            values = values("random", size);
+            work = new int[size];
+            select = IntSelectTarget.create("QuickSelect");
+        }
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            System.arraycopy(values, 0, work, 0, size);
+        }
+    }
+
+    static int[] values(String input, int size) {
+        Random rnd = new Random(42);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            switch (input) {
+                case "random": values[i] = rnd.nextInt(); break;
+                case "sorted": values[i] = i; break;
+                case "reversed": values[i] = size - i; break;
+                case "duplicates": values[i] = rnd.nextInt(16); break;
+                default: throw new IllegalArgumentException("未知的輸入: " + input);
+            }
+        }
+        return values;
+    }
+
+    @Benchmark
+    public int kthLargest(Input in) {
+        return in.select.kthLargest(in.work, in.size / 100);
+    }
+
+    @Benchmark
+    public int quickSelect(RandomInput in) {
+        return in.select.kthLargest(in.work, in.size / 100);
+    }
+}
@@ -0,0 +1,53 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 排序引擎比較：HeapSort.sort（單執行緒）、ParallelHeapSort、Arrays.sort、Arrays.parallelSort
+ * sort: 每次呼叫前把同一份亂數複製到工作陣列（不計時），再原地排序
+ * 執行：java -jar benchmarks/target/benchmarks.jar SortBenchmark -p size=100000000
+ *      可加 -jvmArgsAppend -Djava.util.concurrent.ForkJoinPool.common.parallelism=N 改變 worker 數
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class SortBenchmark {
+
+    @Param({"HeapSort", "ParallelHeapSort", "Arrays.sort", "Arrays.parallelSort"})
+    public String target;
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    private int[] values;
+    private int[] work;
+    private IntSortTarget sorter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rnd = new Random(42);
+        values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = rnd.nextInt();
+        }
+        work = new int[size];
+        sorter = IntSortTarget.create(target);
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(values, 0, work, 0, size);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int[] sort() {
+        sorter.sort(work);
+        return work;
+    }
+}
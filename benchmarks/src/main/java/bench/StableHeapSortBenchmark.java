@@ -0,0 +1,55 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * M11_HeapSortWithTie 的穩定堆排序：每元素一個 Score 物件 vs. 分數與索引壓成 long
+ * M11:              heapSort(scores, SCORE_ORDER, true)，每元素配置一個 Score
+ * M11-packed:       heapSortPacked(scores)，只配置一個 long[n]
+ * M11-packed-reuse: heapSortPacked(scores, buffer)，重複使用暫存陣列，不配置
+ * 分數取 0..999，大量同分；以 -prof gc 的 gc.alloc.rate.norm / size 得每元素配置位元組
+ * 執行：java -jar benchmarks/target/benchmarks.jar StableHeapSortBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class StableHeapSortBenchmark {
+
+    @Param({"M11", "M11-packed", "M11-packed-reuse"})
+    public String target;
+
+    @Param({"1000000", "10000000"})
+    public int size;
+
+    private int[] values;
+    private int[] work;
+    private IntSortTarget sorter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rnd = new Random(42);
+        values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = rnd.nextInt(1000);
+        }
+        work = new int[size];
+        sorter = IntSortTarget.create(target);
+    }
+
+    @Setup(Level.Invocation)
+    public void reset() {
+        System.arraycopy(values, 0, work, 0, size);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int[] sort() {
+        sorter.sort(work);
+        return work;
+    }
+}
@@ -0,0 +1,84 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 小範圍整數優先級（1..5）下的任務佇列：二元堆、4 叉堆、桶佇列與 PriorityQueue<Task>
+ * fillDrain: 依序加入 size 個任務再全部取出（單次量測）
+ * offerPoll: 佇列維持 size 個任務，取出一個再以新優先級加回（吞吐量）
+ * 執行：java -jar benchmarks/target/benchmarks.jar TaskQueueBenchmark
+ */
+@Fork(value = 2, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class TaskQueueBenchmark {
+
+    private static final int LEVELS = 5;
+    private static final int OPS = 1 << 20;
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"IndexedTaskHeap", "IndexedTaskHeap-d4", "BucketTaskQueue", "PriorityQueue"})
+        public String target;
+
+        @Param({"10000000"})
+        public int size;
+
+        int[] priorities;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random rnd = new Random(42);
+            priorities = new int[Math.max(size, OPS)];
+            for (int i = 0; i < priorities.length; i++) {
+                priorities[i] = 1 + rnd.nextInt(LEVELS);
+            }
+        }
+
+        TaskQueueTarget fill() {
+            TaskQueueTarget queue = TaskQueueTarget.create(target);
+            for (int id = 0; id < size; id++) {
+                queue.add(id, priorities[id]);
+            }
+            return queue;
+        }
+    }
+
+    // offerPoll 用：整個試驗只建一次、維持 size 個任務的佇列
+    @State(Scope.Benchmark)
+    public static class Steady {
+        TaskQueueTarget queue;
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(Input input) {
+            queue = input.fill();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public long fillDrain(Input input) {
+        TaskQueueTarget queue = input.fill();
+        long checksum = 0;
+        for (int i = 0; i < input.size; i++) {
+            checksum += queue.poll();
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public int offerPoll(Input input, Steady steady) {
+        int id = steady.queue.poll();
+        steady.queue.add(id, input.priorities[steady.next++ & (OPS - 1)]);
+        return id;
+    }
+}
@@ -0,0 +1,22 @@
+package bench;
+
+/*
+ * 基準測試用的任務佇列介面，任務以 0..n-1 的編號識別，由 BenchTargets.createTaskQueue 建立轉接器
+ */
+public interface TaskQueueTarget {
+
+    void add(int id, int priority);
+
+    void changePriority(int id, int priority);
+
+    void cancel(int id);
+
+    // 取出下一個任務，回傳其編號
+    int poll();
+
+    int size();
+
+    static TaskQueueTarget create(String name) {
+        return (TaskQueueTarget) Bridge.create("createTaskQueue", name);
+    }
+}
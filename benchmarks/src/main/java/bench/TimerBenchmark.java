@@ -0,0 +1,91 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 大量延遲計時器：階層式時間輪對 PriorityQueue（取消只做標記）
+ * 到期時間均勻分布在 1 小時內（1 tick = 1 ms）
+ * scheduleCancel: 維持 size 個待到期計時器，每次排程一個新的並取消一個舊的（吞吐量）
+ * fillExpire:     排程 size 個計時器，再逐秒推進時間直到全部到期（單次量測）
+ * 注意：對照組的取消不會釋放記憶體，已取消的計時器留在堆中直到到期
+ * 執行：java -jar benchmarks/target/benchmarks.jar TimerBenchmark
+ */
+@Fork(value = 2, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+public class TimerBenchmark {
+
+    private static final long HORIZON = 3_600_000;
+    private static final int OPS = 1 << 20;
+
+    @State(Scope.Benchmark)
+    public static class Input {
+        @Param({"TimingWheel", "PriorityQueue"})
+        public String target;
+
+        @Param({"10000000"})
+        public int size;
+
+        long[] deadlines;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            Random rnd = new Random(42);
+            deadlines = new long[Math.max(size, OPS)];
+            for (int i = 0; i < deadlines.length; i++) {
+                deadlines[i] = 1 + (long) (rnd.nextDouble() * HORIZON);
+            }
+        }
+    }
+
+    // 每輪重建：對照組已取消的計時器不會移除，持續執行會讓堆無限成長
+    @State(Scope.Benchmark)
+    public static class Steady {
+        TimerTarget timers;
+        Object[] handles;
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp(Input input) {
+            timers = null;
+            handles = null;
+            System.gc();
+            timers = TimerTarget.create(input.target);
+            handles = new Object[input.size];
+            next = 0;
+            for (int i = 0; i < input.size; i++) {
+                handles[i] = timers.schedule(input.deadlines[i]);
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public Object scheduleCancel(Input input, Steady steady) {
+        // 依序取消最舊的一個並在同一位置排程新的，待到期數維持不變
+        int i = steady.next++ % input.size;
+        steady.timers.cancel(steady.handles[i]);
+        return steady.handles[i] = steady.timers.schedule(input.deadlines[steady.next & (OPS - 1)]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public int fillExpire(Input input) {
+        TimerTarget timers = TimerTarget.create(input.target);
+        for (int i = 0; i < input.size; i++) {
+            timers.schedule(input.deadlines[i]);
+        }
+        int expired = 0;
+        for (long now = 1000; now <= HORIZON + 1000; now += 1000) {
+            expired += timers.advanceTo(now);
+        }
+        return expired;
+    }
+}
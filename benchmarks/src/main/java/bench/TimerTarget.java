@@ -0,0 +1,21 @@
+package bench;
+
+/*
+ * 基準測試用的計時器介面，時間單位為整數 tick，由 BenchTargets.createTimer 建立轉接器
+ */
+public interface TimerTarget {
+
+    // 排程在 deadline 到期，回傳可用於取消的控制代碼
+    Object schedule(long deadline);
+
+    void cancel(Object handle);
+
+    // 處理到 nowTick 為止到期的計時器，回傳到期數
+    int advanceTo(long nowTick);
+
+    int size();
+
+    static TimerTarget create(String name) {
+        return (TimerTarget) Bridge.create("createTimer", name);
+    }
+}
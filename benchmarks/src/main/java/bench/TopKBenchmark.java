@@ -0,0 +1,62 @@
+package bench;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * 平行 Top-K 的加速比：同一份輸入在 1/2/4/8 個 worker 的 ForkJoinPool 上執行
+ * ParallelTopK:  int[]，每段一個 IntMinHeap
+ * M03.parallel:  M03_TopKConvenience.findTopKItemsParallel，List<Item>，每段一個 PriorityQueue
+ * KthLargest-d2: 單執行緒 int[] Min Heap（對照組，忽略 threads）
+ * 執行：java -jar benchmarks/target/benchmarks.jar TopKBenchmark
+ *      10 億筆 int 需要 4 GB 陣列：-p size=1000000000 -p target=ParallelTopK -jvmArgsAppend -Xmx8g
+ *      （Item 每筆約 28 位元組，不適合 10 億筆）
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TopKBenchmark {
+
+    @Param({"ParallelTopK", "M03.parallel", "KthLargest-d2"})
+    public String target;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"10000000"})
+    public int size;
+
+    @Param({"1000"})
+    public int k;
+
+    private TopKTarget topK;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random rnd = new Random(42);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = rnd.nextInt();
+        }
+        topK = TopKTarget.create(target);
+        topK.load(values);
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Object topK() {
+        return topK.run(k, pool);
+    }
+}
@@ -0,0 +1,19 @@
+package bench;
+
+import java.util.concurrent.ForkJoinPool;
+
+/*
+ * 基準測試用的 Top-K 介面，由 BenchTargets.createTopK 建立轉接器
+ */
+public interface TopKTarget {
+
+    // 載入輸入資料（在 @Setup 中呼叫，不計時）
+    void load(int[] values);
+
+    // 在 pool 上找出前 k 大，回傳結果供 JMH 消耗；單執行緒的實作忽略 pool
+    Object run(int k, ForkJoinPool pool);
+
+    static TopKTarget create(String name) {
+        return (TopKTarget) Bridge.create("createTopK", name);
+    }
+}
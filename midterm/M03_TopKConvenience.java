@@ -1,6 +1,8 @@
 package midterm;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /*
  * Time Complexity: O(n log K)
@@ -8,11 +10,12 @@ import java.util.*;
  * 對於每個商品，最多需要 log K 的時間來插入或更新堆
  * 總共 n 個商品，所以時間複雜度為 O(n log K)
  * 當 K 遠小於 n 時，此方法比排序更有效率
+ * findTopKItemsParallel 為多核心版本：各段各自維護 Min-Heap 後合併，O((n log K) / P)
  */
 public class M03_TopKConvenience {
     
     // 商品類別，包含名稱和銷量
-    static class Item {
+    public static class Item {
         String name;
         int quantity;
         
@@ -60,6 +63,79 @@ public class M03_TopKConvenience {
         return result;
     }
     
+    // 排名順序：銷量高者在前，同銷量時名稱字典序小者在前
+    public static final Comparator<Item> RANK_ORDER = (a, b) -> {
+        if (a.quantity != b.quantity) {
+            return Integer.compare(b.quantity, a.quantity);
+        }
+        return a.name.compareTo(b.name);
+    };
+    
+    // 平行版 Top-K：fork-join 把商品切段，每段各自維護大小為 K 的 Min-Heap，回傳途中兩兩合併
+    // 與 findTopKItems 不同，同銷量時依名稱決定去留，結果與切段方式無關、等於依 RANK_ORDER 排序後的前 K 個
+    // 時間複雜度: O((n log K) / P)，P = 執行緒數
+    public static List<Item> findTopKItemsParallel(List<Item> items, int k) {
+        return findTopKItemsParallel(items, k, ForkJoinPool.commonPool());
+    }
+    
+    public static List<Item> findTopKItemsParallel(List<Item> items, int k, ForkJoinPool pool) {
+        if (k <= 0) {
+            return new ArrayList<>();
+        }
+        // 以索引切段，需要能隨機存取
+        List<Item> list = items instanceof RandomAccess ? items : new ArrayList<>(items);
+        int leaf = Math.max(1 << 14, list.size() / (pool.getParallelism() * 8));
+        PriorityQueue<Item> heap = pool.invoke(new TopKTask(list, 0, list.size(), k, leaf));
+        List<Item> result = new ArrayList<>(heap);
+        result.sort(RANK_ORDER);
+        return result;
+    }
+    
+    private static final class TopKTask extends RecursiveTask<PriorityQueue<Item>> {
+        private static final long serialVersionUID = 1L;
+        private final List<Item> items;
+        private final int from, to, k, leaf;
+        
+        TopKTask(List<Item> items, int from, int to, int k, int leaf) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+            this.k = k;
+            this.leaf = leaf;
+        }
+        
+        @Override
+        protected PriorityQueue<Item> compute() {
+            if (to - from <= leaf) {
+                // 堆頂為目前 Top-K 中排名最後者
+                PriorityQueue<Item> heap = new PriorityQueue<>(Math.min(k, to - from) + 1, RANK_ORDER.reversed());
+                for (int i = from; i < to; i++) {
+                    offer(heap, items.get(i));
+                }
+                return heap;
+            }
+            int mid = (from + to) >>> 1;
+            TopKTask left = new TopKTask(items, from, mid, k, leaf);
+            left.fork();
+            PriorityQueue<Item> right = new TopKTask(items, mid, to, k, leaf).compute();
+            PriorityQueue<Item> leftHeap = left.join();
+            PriorityQueue<Item> into = leftHeap.size() >= right.size() ? leftHeap : right;
+            for (Item item : into == leftHeap ? right : leftHeap) {
+                offer(into, item);
+            }
+            return into;
+        }
+        
+        private void offer(PriorityQueue<Item> heap, Item item) {
+            if (heap.size() < k) {
+                heap.offer(item);
+            } else if (RANK_ORDER.compare(item, heap.peek()) < 0) {
+                heap.poll();
+                heap.offer(item);
+            }
+        }
+    }
+    
     public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in);
         
@@ -8,11 +8,13 @@ import java.util.*;
  * 每次取出堆頂元素並調整堆的時間複雜度為 O(log n)
  * 總共需要取出 n 個元素，所以總時間複雜度為 O(n log n)
  * 平手處理使用索引比較，不影響整體時間複雜度
+ * 取出階段預設使用由下而上的下沉，比較次數約 n log n（教科書版約 2n log n）
+ * heapSortPacked 把（分數, 索引）壓成一個 long，不必為每個元素建立 Score 物件
  */
 public class M11_HeapSortWithTie {
     
     // 學生分數類別，包含分數和原始索引
-    static class Score {
+    public static class Score {
         int score;
         int index;
         
@@ -22,8 +24,17 @@ public class M11_HeapSortWithTie {
         }
     }
     
+    // 分數遞增、同分時索引小者在前
+    public static final Comparator<Score> SCORE_ORDER = M11_HeapSortWithTie::compareScores;
+    
     // 堆排序主函數
     private static void heapSort(int[] scores) {
+        heapSortPacked(scores);
+    }
+    
+    // 以 order 排序分數；bottomUp 為 true 時使用由下而上的下沉，否則為教科書版
+    // order 可換成計算比較次數的包裝（見 benchmarks 的 HeapSortComparisonBenchmark）
+    public static void heapSort(int[] scores, Comparator<? super Score> order, boolean bottomUp) {
         int n = scores.length;
         
         // 建立分數和索引的陣列
@@ -34,7 +45,7 @@ public class M11_HeapSortWithTie {
         
         // 建堆（Max-Heap）
         for (int i = n / 2 - 1; i >= 0; i--) {
-            heapify(scoreArray, n, i);
+            heapify(scoreArray, n, i, order);
         }
         
         // 逐一取出堆頂元素（最大值）
@@ -45,7 +56,11 @@ public class M11_HeapSortWithTie {
             scoreArray[i] = temp;
             
             // 調整堆
-            heapify(scoreArray, i, 0);
+            if (bottomUp) {
+                heapifyBottomUp(scoreArray, i, order);
+            } else {
+                heapify(scoreArray, i, 0, order);
+            }
         }
         
         // 將排序結果複製回原陣列
@@ -54,31 +69,124 @@ public class M11_HeapSortWithTie {
         }
     }
     
-    // 調整堆（Max-Heap）
-    private static void heapify(Score[] arr, int n, int i) {
-        int largest = i;
-        int left = 2 * i + 1;
-        int right = 2 * i + 2;
+    // 調整堆（Max-Heap），迭代版：每層比較左右子節點，再與目前節點比較
+    private static void heapify(Score[] arr, int n, int i, Comparator<? super Score> order) {
+        Score value = arr[i];
+        while (2 * i + 1 < n) {
+            int largest = 2 * i + 1;
+            int right = largest + 1;
+            
+            // 比較左右子節點
+            if (right < n && order.compare(arr[right], arr[largest]) > 0) {
+                largest = right;
+            }
+            
+            // 子節點都不比目前的值大就停止
+            if (order.compare(arr[largest], value) <= 0) {
+                break;
+            }
+            arr[i] = arr[largest];
+            i = largest;
+        }
+        arr[i] = value;
+    }
+    
+    // 由下而上調整根節點：空洞沿較大的子節點沉到葉子（每層一次比較），
+    // 再讓原本的根從葉子往上浮到正確位置；根來自陣列末端，通常很快停下
+    private static void heapifyBottomUp(Score[] arr, int n, Comparator<? super Score> order) {
+        Score value = arr[0];
+        int hole = 0;
+        while (2 * hole + 1 < n) {
+            int child = 2 * hole + 1;
+            if (child + 1 < n && order.compare(arr[child + 1], arr[child]) > 0) {
+                child++;
+            }
+            arr[hole] = arr[child];
+            hole = child;
+        }
+        while (hole > 0) {
+            int parent = (hole - 1) / 2;
+            if (order.compare(arr[parent], value) >= 0) {
+                break;
+            }
+            arr[hole] = arr[parent];
+            hole = parent;
+        }
+        arr[hole] = value;
+    }
+    
+    // 不建立 Score 物件的穩定堆排序：分數放高 32 位元、原始索引放低 32 位元，
+    // 同分時索引小者的 long 較小，一次 long 比較即等同 compareScores；全程只配置一個 long[n]
+    public static void heapSortPacked(int[] scores) {
+        heapSortPacked(scores, new long[scores.length]);
+    }
+    
+    // 由呼叫端提供暫存陣列（長度 >= scores.length），重複排序時完全不配置記憶體
+    public static void heapSortPacked(int[] scores, long[] buffer) {
+        int n = scores.length;
+        if (buffer.length < n) {
+            throw new IllegalArgumentException("暫存陣列長度不足: " + buffer.length + " < " + n);
+        }
+        for (int i = 0; i < n; i++) {
+            buffer[i] = pack(scores[i], i);
+        }
         
-        // 比較左子節點
-        if (left < n && compareScores(arr[left], arr[largest]) > 0) {
-            largest = left;
+        // 建堆（Max-Heap）
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            siftDown(buffer, i, buffer[i], n);
         }
         
-        // 比較右子節點
-        if (right < n && compareScores(arr[right], arr[largest]) > 0) {
-            largest = right;
+        // 取出階段：空洞沉到葉子後再讓末端元素上浮（同 heapifyBottomUp）
+        for (int end = n - 1; end > 0; end--) {
+            long value = buffer[end];
+            buffer[end] = buffer[0];
+            int hole = 0;
+            while (2 * hole + 1 < end) {
+                int child = 2 * hole + 1;
+                if (child + 1 < end && buffer[child + 1] > buffer[child]) {
+                    child++;
+                }
+                buffer[hole] = buffer[child];
+                hole = child;
+            }
+            while (hole > 0) {
+                int parent = (hole - 1) / 2;
+                if (buffer[parent] >= value) {
+                    break;
+                }
+                buffer[hole] = buffer[parent];
+                hole = parent;
+            }
+            buffer[hole] = value;
         }
         
-        // 如果需要交換
-        if (largest != i) {
-            Score temp = arr[i];
-            arr[i] = arr[largest];
-            arr[largest] = temp;
-            
-            // 遞迴調整子樹
-            heapify(arr, n, largest);
+        for (int i = 0; i < n; i++) {
+            scores[i] = scoreOf(buffer[i]);
+        }
+    }
+    
+    private static void siftDown(long[] heap, int i, long value, int n) {
+        while (2 * i + 1 < n) {
+            int largest = 2 * i + 1;
+            if (largest + 1 < n && heap[largest + 1] > heap[largest]) {
+                largest++;
+            }
+            if (heap[largest] <= value) {
+                break;
+            }
+            heap[i] = heap[largest];
+            i = largest;
         }
+        heap[i] = value;
+    }
+    
+    // 索引非負，直接放在低 32 位元即可保持順序；負分數由帶號的高 32 位元處理
+    static long pack(int score, int index) {
+        return ((long) score << 32) | index;
+    }
+    
+    static int scoreOf(long packed) {
+        return (int) (packed >> 32);
     }
     
     // 比較兩個分數（包含平手處理）